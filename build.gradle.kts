@@ -43,6 +43,9 @@ dependencies {
     
     // 测试依赖 - 简化配置避免冲突
     testImplementation("junit:junit:4.13.2")
+    testImplementation("org.openjdk.jol:jol-core:0.17")
+    // JUnit 4测试在JUnit Platform上运行
+    testRuntimeOnly("org.junit.vintage:junit-vintage-engine:5.10.2")
     testImplementation("org.jetbrains.kotlin:kotlin-test")
 }
 
@@ -0,0 +1,125 @@
+package com.devtoolkit.pro.actions;
+
+import com.devtoolkit.pro.icons.HttpMethodIconProvider;
+import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.devtoolkit.pro.services.RestfulEndpointCatalogService;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.datatransfer.DataFlavor;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 根据具体URL跳转到端点
+ * 从编辑器选中文本或剪贴板读取URL（如 GET /api/v1/orders/8812/items?page=2），
+ * 通过路由模板索引解析为对应的处理方法
+ */
+public class GoToEndpointFromUrlAction extends AnAction {
+
+    private static final Set<String> HTTP_METHODS = Set.of(
+        "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "TRACE"
+    );
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        String input = Messages.showInputDialog(project, "URL (optionally prefixed with the HTTP method):",
+                "Go to Endpoint from URL", null, getInitialText(e), null);
+        if (input == null || input.trim().isEmpty()) {
+            return;
+        }
+
+        String text = input.trim();
+        String httpMethod = null;
+        int space = text.indexOf(' ');
+        if (space > 0 && HTTP_METHODS.contains(text.substring(0, space).toUpperCase(Locale.ROOT))) {
+            httpMethod = text.substring(0, space).toUpperCase(Locale.ROOT);
+            text = text.substring(space + 1).trim();
+        }
+
+        String url = text;
+        String method = httpMethod;
+        ReadAction.nonBlocking(() -> resolve(project, method, url))
+                .inSmartMode(project)
+                .expireWith(project)
+                .finishOnUiThread(ModalityState.defaultModalityState(), endpoints -> showResult(project, input, endpoints))
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 先按HTTP方法解析，没有结果时忽略方法重新解析
+     */
+    private static List<RestfulEndpointNavigationItem> resolve(Project project, String httpMethod, String url) {
+        RestfulEndpointCatalogService catalog = RestfulEndpointCatalogService.getInstance(project);
+        List<RestfulEndpointNavigationItem> endpoints = catalog.resolveUrl(httpMethod, url);
+        return endpoints.isEmpty() && httpMethod != null ? catalog.resolveUrl(null, url) : endpoints;
+    }
+
+    private static void showResult(Project project, String input, List<RestfulEndpointNavigationItem> endpoints) {
+        if (endpoints.isEmpty()) {
+            NotificationGroupManager.getInstance()
+                .getNotificationGroup("RestfulTool")
+                .createNotification("No endpoint matches " + input, NotificationType.WARNING)
+                .notify(project);
+        } else if (endpoints.size() == 1) {
+            endpoints.get(0).navigate(true);
+        } else {
+            JBPopupFactory.getInstance()
+                .createPopupChooserBuilder(endpoints)
+                .setTitle("Endpoints Matching URL")
+                .setRenderer(SimpleListCellRenderer.<RestfulEndpointNavigationItem>create((label, value, index) -> {
+                    label.setIcon(HttpMethodIconProvider.getIcon(value.getHttpMethod()));
+                    label.setText(value.getHttpMethod() + " " + value.getPath()
+                            + "  (" + value.getClassName() + "." + value.getMethodName() + ")");
+                }))
+                .setItemChosenCallback(endpoint -> endpoint.navigate(true))
+                .createPopup()
+                .showCenteredInCurrentWindow(project);
+        }
+    }
+
+    /**
+     * 初始文本：优先使用编辑器选中文本，其次使用剪贴板内容
+     */
+    private static String getInitialText(AnActionEvent e) {
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        if (editor != null) {
+            String selected = editor.getSelectionModel().getSelectedText();
+            if (selected != null && !selected.isBlank() && selected.indexOf('\n') < 0) {
+                return selected.trim();
+            }
+        }
+        String clipboard = CopyPasteManager.getInstance().getContents(DataFlavor.stringFlavor);
+        return clipboard != null && clipboard.indexOf('\n') < 0 ? clipboard.trim() : "";
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
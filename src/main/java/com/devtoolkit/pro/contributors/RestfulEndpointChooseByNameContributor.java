@@ -1,7 +1,7 @@
 package com.devtoolkit.pro.contributors;
 
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
-import com.devtoolkit.pro.services.RestfulUrlService;
+import com.devtoolkit.pro.services.RestfulEndpointCatalogService;
 import com.intellij.navigation.ChooseByNameContributor;
 import com.intellij.navigation.NavigationItem;
 import com.intellij.openapi.diagnostic.Logger;
@@ -37,8 +37,7 @@ public class RestfulEndpointChooseByNameContributor implements ChooseByNameContr
     public String[] getNames(@NotNull Project project, boolean includeNonProjectItems) {
         try {
             LOG.info("Starting RESTful endpoint scan for project: " + project.getName());
-            RestfulUrlService urlService = new RestfulUrlService(project);
-            List<RestfulEndpointNavigationItem> endpoints = urlService.findAllRestfulEndpoints();
+            List<RestfulEndpointNavigationItem> endpoints = RestfulEndpointCatalogService.getInstance(project).getEndpoints();
 
             LOG.info("Found " + endpoints.size() + " RESTful endpoints");
 
@@ -65,8 +64,7 @@ public class RestfulEndpointChooseByNameContributor implements ChooseByNameContr
                                          @NotNull Project project, boolean includeNonProjectItems) {
         try {
             LOG.debug("Looking for endpoint with name: " + name);
-            RestfulUrlService urlService = new RestfulUrlService(project);
-            List<RestfulEndpointNavigationItem> endpoints = urlService.findAllRestfulEndpoints();
+            List<RestfulEndpointNavigationItem> endpoints = RestfulEndpointCatalogService.getInstance(project).getEndpoints();
 
             NavigationItem[] items = endpoints.stream()
                     .filter(endpoint -> endpoint.getName().equals(name))
@@ -1,25 +1,41 @@
 package com.devtoolkit.pro.contributors;
 
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
-import com.devtoolkit.pro.services.RestfulUrlService;
+import com.devtoolkit.pro.search.AbbreviationIndex;
+import com.devtoolkit.pro.search.EndpointSearchIndex;
+import com.devtoolkit.pro.search.SearchSession;
+import com.devtoolkit.pro.services.RestfulEndpointCatalogService;
+import com.devtoolkit.pro.utils.FuzzySearchUtil;
 import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
 import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
 import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.speedSearch.SpeedSearchUtil;
 import com.intellij.util.Processor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
-import java.awt.Component;
+import java.awt.Color;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.ActionEvent;
 import java.awt.event.InputEvent;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * RESTful端点搜索贡献者
@@ -28,10 +44,25 @@ import java.util.List;
 public class RestfulEndpointSearchEverywhereContributor implements SearchEverywhereContributor<RestfulEndpointNavigationItem> {
     
     private static final Logger LOG = Logger.getInstance(RestfulEndpointSearchEverywhereContributor.class);
+    private static final Set<String> HTTP_METHODS = Set.of(
+        "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "TRACE"
+    );
+    // 索引搜索首批返回的结果数，消费者继续接收时按倍数扩大
+    private static final int INITIAL_LIMIT = 100;
+    // 拼写容错匹配最多追加的结果数
+    private static final int TOLERANT_LIMIT = 50;
+    // 缩写匹配最多推送的结果数
+    private static final int ABBREVIATION_LIMIT = 100;
+    private static final SimpleTextAttributes HIGHLIGHT_ATTRIBUTES = new SimpleTextAttributes(
+            SimpleTextAttributes.STYLE_BOLD, new JBColor(new Color(0x4A90E2), new Color(0x4A90E2)));
     
     private final Project project;
-    private String currentSearchPattern = ""; // 存储当前搜索模式
+    private volatile String currentSearchPattern = ""; // 存储当前搜索模式
+    // 当前搜索模式下各结果的匹配区间，推送结果时计算，渲染时直接使用
+    private final Map<RestfulEndpointNavigationItem, List<TextRange>> matchRanges = new ConcurrentHashMap<>();
     private RestfulEndpointRenderer renderer; // 渲染器实例
+    // 同一个搜索弹窗内连续输入共享的搜索会话
+    private final SearchSession<RestfulEndpointNavigationItem> searchSession = new SearchSession<>();
     
     public RestfulEndpointSearchEverywhereContributor(@NotNull AnActionEvent initEvent) {
         this.project = initEvent.getProject();
@@ -73,9 +104,9 @@ public class RestfulEndpointSearchEverywhereContributor implements SearchEverywh
         LOG.info("fetchElements called with pattern: '" + pattern + "'");
         
         // 保存当前搜索模式用于高亮显示
-        this.currentSearchPattern = pattern;
-        if (renderer != null) {
-            renderer.setCurrentSearchPattern(pattern);
+        if (!pattern.equals(currentSearchPattern)) {
+            matchRanges.clear();
+            currentSearchPattern = pattern;
         }
         
         if (project == null) {
@@ -83,31 +114,110 @@ public class RestfulEndpointSearchEverywhereContributor implements SearchEverywh
             return;
         }
 
-        ApplicationManager.getApplication().runReadAction(() -> {
-            try {
-                RestfulUrlService urlService = new RestfulUrlService(project);
-                List<RestfulEndpointNavigationItem> endpoints = urlService.findAllRestfulEndpoints();
-                
-                LOG.info("Found " + endpoints.size() + " total endpoints");
-                
-                int processedCount = 0;
-                for (RestfulEndpointNavigationItem endpoint : endpoints) {
-                    if (progressIndicator.isCanceled()) {
-                        LOG.info("Search canceled by user");
-                        break;
-                    }
-                    
-                    if (pattern.isEmpty() || matchesPattern(endpoint.getName(), pattern)) {
-                        consumer.process(endpoint);
-                        processedCount++;
-                    }
+        RestfulEndpointCatalogService catalog = RestfulEndpointCatalogService.getInstance(project);
+        // 读操作被写操作打断后会重新执行，记录已推送的端点避免重复
+        Set<RestfulEndpointNavigationItem> pushed = new HashSet<>();
+        Processor<RestfulEndpointNavigationItem> matcher = endpoint -> {
+            ProgressManager.checkCanceled();
+            if (!pattern.isEmpty() && !matchesPattern(endpoint.getName(), pattern)) {
+                return true;
+            }
+            if (!pushed.add(endpoint)) {
+                return true;
+            }
+            matchRanges.put(endpoint, FuzzySearchUtil.matchRanges(endpoint.getName(), pattern));
+            return consumer.process(endpoint);
+        };
+        Processor<RestfulEndpointNavigationItem> ranked = endpoint -> {
+            ProgressManager.checkCanceled();
+            if (!pushed.add(endpoint)) {
+                return true;
+            }
+            matchRanges.put(endpoint, FuzzySearchUtil.matchRanges(endpoint.getName(), pattern));
+            return consumer.process(endpoint);
+        };
+        // 目录已扫描完成时通过索引按相关性推送，否则边扫描边推送
+        boolean useIndex = !pattern.isEmpty() && catalog.isWarm();
+
+        try {
+            // 读操作让位于写操作，被打断后等待写操作完成再继续
+            while (!progressIndicator.isCanceled()) {
+                boolean finished = ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(
+                        () -> {
+                            if (useIndex) {
+                                processRanked(catalog, searchSession, pattern, ranked);
+                            } else {
+                                catalog.processEndpoints(matcher);
+                            }
+                        }, progressIndicator);
+                if (finished) {
+                    break;
                 }
-                
-                LOG.info("Processed " + processedCount + " matching endpoints for pattern: '" + pattern + "'");
-            } catch (Exception e) {
-                LOG.error("Error fetching RESTful endpoints", e);
+                ProgressIndicatorUtils.yieldToPendingWriteActions();
+            }
+            LOG.info("Processed " + pushed.size() + " matching endpoints for pattern: '" + pattern + "'");
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error fetching RESTful endpoints", e);
+        }
+    }
+
+    /**
+     * 通过搜索索引按相关性降序推送端点
+     * 查询参数部分不参与匹配，开头的HTTP方法用于过滤；消费者取完一批后再扩大范围重新搜索，
+     * 明确的缩写形式的结果最先推送，纯小写首字母缩写的结果在模糊匹配之后，最后追加路径段拼写容错的结果
+     */
+    private static void processRanked(RestfulEndpointCatalogService catalog,
+                                      SearchSession<RestfulEndpointNavigationItem> session, String pattern,
+                                      Processor<RestfulEndpointNavigationItem> processor) {
+        String query = pattern.trim();
+        int queryStart = query.indexOf('?');
+        if (queryStart >= 0) {
+            query = query.substring(0, queryStart);
+        }
+        String httpMethod = null;
+        int space = query.indexOf(' ');
+        if (space > 0 && HTTP_METHODS.contains(query.substring(0, space).toUpperCase(Locale.ROOT))) {
+            httpMethod = query.substring(0, space).toUpperCase(Locale.ROOT);
+            query = query.substring(space + 1).trim();
+        }
+
+        EndpointSearchIndex index = catalog.getSearchIndex();
+        // 明确的缩写形式（u/o/i、UC.get）最精确，排在最前
+        boolean explicitAbbreviation = AbbreviationIndex.isExplicitAbbreviation(query);
+        if (explicitAbbreviation && !processAll(index.searchAbbreviation(query, ABBREVIATION_LIMIT), httpMethod, processor)) {
+            return;
+        }
+        for (int limit = INITIAL_LIMIT; ; limit *= 4) {
+            List<RestfulEndpointNavigationItem> endpoints = index.search(session, query, limit);
+            // 扩大范围后前面的端点已推送过，由处理器去重
+            if (!processAll(endpoints, httpMethod, processor)) {
+                return;
+            }
+            if (endpoints.size() < limit) {
+                break;
+            }
+        }
+        // 纯小写查询（uoi、api）的路径段首字母匹配排在子串和模糊匹配之后
+        if (!explicitAbbreviation && !processAll(index.searchAbbreviation(query, ABBREVIATION_LIMIT), httpMethod, processor)) {
+            return;
+        }
+        // 全部模糊匹配结果之后追加拼写容错的结果
+        processAll(index.searchTolerant(query, TOLERANT_LIMIT), httpMethod, processor);
+    }
+
+    private static boolean processAll(List<RestfulEndpointNavigationItem> endpoints, @Nullable String httpMethod,
+                                      Processor<RestfulEndpointNavigationItem> processor) {
+        for (RestfulEndpointNavigationItem endpoint : endpoints) {
+            if (httpMethod != null && !httpMethod.equalsIgnoreCase(endpoint.getHttpMethod())) {
+                continue;
+            }
+            if (!processor.process(endpoint)) {
+                return false;
             }
-        });
+        }
+        return true;
     }
 
     @Override
@@ -155,83 +265,37 @@ public class RestfulEndpointSearchEverywhereContributor implements SearchEverywh
     public ListCellRenderer<? super RestfulEndpointNavigationItem> getElementsRenderer() {
         if (renderer == null) {
             renderer = new RestfulEndpointRenderer();
-            renderer.setCurrentSearchPattern(currentSearchPattern);
         }
         return renderer;
     }
+
+    /**
+     * 结果的匹配区间，没有预先计算时（如搜索模式刚改变）按当前模式计算一次
+     */
+    private List<TextRange> getMatchRanges(RestfulEndpointNavigationItem item) {
+        String pattern = currentSearchPattern;
+        return matchRanges.computeIfAbsent(item, endpoint -> FuzzySearchUtil.matchRanges(endpoint.getName(), pattern));
+    }
     
     /**
-     * 自定义渲染器，支持高亮匹配的文本部分
+     * 自定义渲染器，高亮匹配的文本部分
+     * 匹配区间在推送结果时已经计算好，绘制时不解析HTML
      */
-    private class RestfulEndpointRenderer extends DefaultListCellRenderer {
-        private String currentSearchPattern = "";
-        
+    private class RestfulEndpointRenderer extends ColoredListCellRenderer<RestfulEndpointNavigationItem> {
         @Override
-        public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
-            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-            
-            if (value instanceof RestfulEndpointNavigationItem) {
-                RestfulEndpointNavigationItem item = (RestfulEndpointNavigationItem) value;
-                String itemName = item.getName();
-                
-                // 设置图标
-                if (item.getPresentation() != null) {
-                    setIcon(item.getPresentation().getIcon(false));
-                }
-                
-                // 获取当前搜索模式（从fetchElements传递过来的pattern）
-                String highlightedText = highlightMatchingText(itemName, getCurrentSearchPattern());
-                setText(highlightedText);
+        protected void customizeCellRenderer(@NotNull JList<? extends RestfulEndpointNavigationItem> list,
+                                             RestfulEndpointNavigationItem item, int index,
+                                             boolean selected, boolean hasFocus) {
+            if (item == null) {
+                return;
             }
-            
-            return this;
-        }
-        
-        /**
-         * 高亮匹配的文本部分
-         */
-        private String highlightMatchingText(String text, String pattern) {
-            if (pattern == null || pattern.isEmpty()) {
-                return text;
-            }
-            
-            String lowerText = text.toLowerCase();
-            String lowerPattern = pattern.toLowerCase();
-            
-            // 处理查询参数的情况
-            String searchPattern = lowerPattern;
-            if (lowerPattern.contains("?")) {
-                searchPattern = lowerPattern.split("\\?")[0]; // 只高亮基础路径部分
-            }
-            
-            // 查找匹配的位置并高亮
-            int startIndex = lowerText.indexOf(searchPattern);
-            if (startIndex != -1) {
-                StringBuilder highlighted = new StringBuilder("<html>");
-                highlighted.append(text, 0, startIndex);
-                highlighted.append("<b><font color='#4A90E2'>"); // 蓝色高亮
-                highlighted.append(text, startIndex, startIndex + searchPattern.length());
-                highlighted.append("</font></b>");
-                highlighted.append(text.substring(startIndex + searchPattern.length()));
-                highlighted.append("</html>");
-                return highlighted.toString();
+            // 设置图标
+            if (item.getPresentation() != null) {
+                setIcon(item.getPresentation().getIcon(false));
             }
-            
-            return text;
-        }
-        
-        /**
-         * 获取当前搜索模式
-         */
-        private String getCurrentSearchPattern() {
-            return currentSearchPattern;
-        }
-        
-        /**
-         * 设置当前搜索模式
-         */
-        public void setCurrentSearchPattern(String pattern) {
-            this.currentSearchPattern = pattern;
+            String itemName = item.getName();
+            SpeedSearchUtil.appendColoredFragments(this, itemName, getMatchRanges(item),
+                    SimpleTextAttributes.REGULAR_ATTRIBUTES, HIGHLIGHT_ATTRIBUTES);
         }
     }
 
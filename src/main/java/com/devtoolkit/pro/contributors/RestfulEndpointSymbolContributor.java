@@ -1,7 +1,7 @@
 package com.devtoolkit.pro.contributors;
 
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
-import com.devtoolkit.pro.services.RestfulUrlService;
+import com.devtoolkit.pro.services.RestfulEndpointCatalogService;
 import com.intellij.navigation.ChooseByNameContributor;
 import com.intellij.navigation.NavigationItem;
 import com.intellij.openapi.diagnostic.Logger;
@@ -25,8 +25,7 @@ public class RestfulEndpointSymbolContributor implements ChooseByNameContributor
         try {
             LOG.info("Symbol scan: Starting RESTful endpoint scan for project: " + project.getName());
             
-            RestfulUrlService urlService = new RestfulUrlService(project);
-            List<RestfulEndpointNavigationItem> endpoints = urlService.findAllRestfulEndpoints();
+            List<RestfulEndpointNavigationItem> endpoints = RestfulEndpointCatalogService.getInstance(project).getEndpoints();
             
             LOG.info("Symbol scan: Found " + endpoints.size() + " RESTful endpoints");
             
@@ -57,8 +56,7 @@ public class RestfulEndpointSymbolContributor implements ChooseByNameContributor
             // 移除"API: "前缀
             String actualName = name.startsWith("API: ") ? name.substring(5) : name;
             
-            RestfulUrlService urlService = new RestfulUrlService(project);
-            List<RestfulEndpointNavigationItem> endpoints = urlService.findAllRestfulEndpoints();
+            List<RestfulEndpointNavigationItem> endpoints = RestfulEndpointCatalogService.getInstance(project).getEndpoints();
             
             NavigationItem[] items = endpoints.stream()
                     .filter(endpoint -> endpoint.getName().equals(actualName))
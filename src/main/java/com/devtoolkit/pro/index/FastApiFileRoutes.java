@@ -0,0 +1,124 @@
+package com.devtoolkit.pro.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 单个Python文件中的FastAPI路由信息
+ * 由FastApiRouteIndex直接从文件内容词法分析得到，不依赖PSI
+ */
+public final class FastApiFileRoutes {
+
+    /** FastAPI()应用实例名称 */
+    public final List<String> apps = new ArrayList<>();
+    /** APIRouter()定义 */
+    public final List<RouterDef> routers = new ArrayList<>();
+    /** 路由装饰器 */
+    public final List<RouteDef> routes = new ArrayList<>();
+    /** include_router关系 */
+    public final List<IncludeDef> includes = new ArrayList<>();
+
+    public boolean isEmpty() {
+        return apps.isEmpty() && routers.isEmpty() && routes.isEmpty() && includes.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FastApiFileRoutes)) return false;
+        FastApiFileRoutes that = (FastApiFileRoutes) o;
+        return apps.equals(that.apps) && routers.equals(that.routers)
+                && routes.equals(that.routes) && includes.equals(that.includes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(apps, routers, routes, includes);
+    }
+
+    /**
+     * 路由器定义：router = APIRouter(prefix="/x")
+     */
+    public static final class RouterDef {
+        public final String name;
+        public final String prefix;
+
+        public RouterDef(String name, String prefix) {
+            this.name = name;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RouterDef)) return false;
+            RouterDef that = (RouterDef) o;
+            return name.equals(that.name) && prefix.equals(that.prefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, prefix);
+        }
+    }
+
+    /**
+     * 路由定义：@router.get("/path") 及其下方的函数
+     */
+    public static final class RouteDef {
+        public final String instance;
+        public final String httpMethod;
+        public final String path;
+        public final String functionName;
+        /** 函数名在文件中的偏移量，用于导航 */
+        public final int offset;
+
+        public RouteDef(String instance, String httpMethod, String path, String functionName, int offset) {
+            this.instance = instance;
+            this.httpMethod = httpMethod;
+            this.path = path;
+            this.functionName = functionName;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RouteDef)) return false;
+            RouteDef that = (RouteDef) o;
+            return offset == that.offset && instance.equals(that.instance) && httpMethod.equals(that.httpMethod)
+                    && path.equals(that.path) && functionName.equals(that.functionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(instance, httpMethod, path, functionName, offset);
+        }
+    }
+
+    /**
+     * include关系：parent.include_router(child, prefix="/x")
+     */
+    public static final class IncludeDef {
+        public final String parent;
+        public final String child;
+        public final String prefix;
+
+        public IncludeDef(String parent, String child, String prefix) {
+            this.parent = parent;
+            this.child = child;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof IncludeDef)) return false;
+            IncludeDef that = (IncludeDef) o;
+            return parent.equals(that.parent) && child.equals(that.child) && prefix.equals(that.prefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parent, child, prefix);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.devtoolkit.pro.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * FastAPI路由索引
+ * 直接对.py文件内容做词法分析（不创建PSI），保存应用/路由器定义、路由装饰器和include关系，
+ * 端点扫描时只需读取索引即可完成路由树的构建
+ */
+public final class FastApiRouteIndex extends FileBasedIndexExtension<String, FastApiFileRoutes> {
+
+    public static final ID<String, FastApiFileRoutes> NAME = ID.create("DevToolkitPro.FastApiRouteIndex");
+
+    /** 每个文件只有一个键 */
+    public static final String KEY = "routes";
+
+    private static final DataExternalizer<FastApiFileRoutes> EXTERNALIZER = new DataExternalizer<FastApiFileRoutes>() {
+        @Override
+        public void save(@NotNull DataOutput out, FastApiFileRoutes value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.apps.size());
+            for (String app : value.apps) {
+                IOUtil.writeUTF(out, app);
+            }
+            DataInputOutputUtil.writeINT(out, value.routers.size());
+            for (FastApiFileRoutes.RouterDef router : value.routers) {
+                IOUtil.writeUTF(out, router.name);
+                IOUtil.writeUTF(out, router.prefix);
+            }
+            DataInputOutputUtil.writeINT(out, value.routes.size());
+            for (FastApiFileRoutes.RouteDef route : value.routes) {
+                IOUtil.writeUTF(out, route.instance);
+                IOUtil.writeUTF(out, route.httpMethod);
+                IOUtil.writeUTF(out, route.path);
+                IOUtil.writeUTF(out, route.functionName);
+                DataInputOutputUtil.writeINT(out, route.offset);
+            }
+            DataInputOutputUtil.writeINT(out, value.includes.size());
+            for (FastApiFileRoutes.IncludeDef include : value.includes) {
+                IOUtil.writeUTF(out, include.parent);
+                IOUtil.writeUTF(out, include.child);
+                IOUtil.writeUTF(out, include.prefix);
+            }
+        }
+
+        @Override
+        public FastApiFileRoutes read(@NotNull DataInput in) throws IOException {
+            FastApiFileRoutes value = new FastApiFileRoutes();
+            int apps = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < apps; i++) {
+                value.apps.add(IOUtil.readUTF(in));
+            }
+            int routers = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < routers; i++) {
+                value.routers.add(new FastApiFileRoutes.RouterDef(IOUtil.readUTF(in), IOUtil.readUTF(in)));
+            }
+            int routes = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < routes; i++) {
+                String instance = IOUtil.readUTF(in);
+                String httpMethod = IOUtil.readUTF(in);
+                String path = IOUtil.readUTF(in);
+                String functionName = IOUtil.readUTF(in);
+                int offset = DataInputOutputUtil.readINT(in);
+                value.routes.add(new FastApiFileRoutes.RouteDef(instance, httpMethod, path, functionName, offset));
+            }
+            int includes = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < includes; i++) {
+                value.includes.add(new FastApiFileRoutes.IncludeDef(IOUtil.readUTF(in), IOUtil.readUTF(in),
+                        IOUtil.readUTF(in)));
+            }
+            return value;
+        }
+    };
+
+    @Override
+    public @NotNull ID<String, FastApiFileRoutes> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, FastApiFileRoutes, FileContent> getIndexer() {
+        return inputData -> {
+            CharSequence text = inputData.getContentAsText();
+            if (!FastApiRouteLexer.mayContainRoutes(text)) {
+                return Collections.emptyMap();
+            }
+            FastApiFileRoutes routes = FastApiRouteLexer.lex(text);
+            return routes.isEmpty() ? Collections.emptyMap() : Collections.singletonMap(KEY, routes);
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<FastApiFileRoutes> getValueExternalizer() {
+        return EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        // 按扩展名过滤，Python插件不可用时同样生效
+        return file -> "py".equals(file.getExtension());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * 查找包含FastAPI路由信息的文件
+     */
+    public static Collection<VirtualFile> getContainingFiles(GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, KEY, scope);
+    }
+
+    /**
+     * 读取单个文件的路由信息
+     */
+    public static FastApiFileRoutes getFileRoutes(Project project, VirtualFile file) {
+        Map<String, FastApiFileRoutes> data = FileBasedIndex.getInstance().getFileData(NAME, file, project);
+        return data.get(KEY);
+    }
+
+    /**
+     * 遍历作用域内所有文件的路由信息
+     */
+    public static void processAllRoutes(GlobalSearchScope scope, FileBasedIndex.ValueProcessor<? super FastApiFileRoutes> processor) {
+        FileBasedIndex.getInstance().processValues(NAME, KEY, null, processor, scope);
+    }
+}
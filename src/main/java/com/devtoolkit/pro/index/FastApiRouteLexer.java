@@ -0,0 +1,276 @@
+package com.devtoolkit.pro.index;
+
+import com.intellij.util.text.CharArrayUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FastAPI路由词法分析器
+ * 直接在文件内容上做一次线性扫描（跳过注释和字符串），识别
+ * FastAPI()/APIRouter()定义、@app.get等路由装饰器以及include_router调用
+ */
+final class FastApiRouteLexer {
+
+    private static final byte IDENT = 0;
+    private static final byte STRING = 1;
+    private static final byte PUNCT = 2;
+
+    private static final String[] HTTP_METHODS = {
+        "get", "post", "put", "delete", "patch", "head", "options", "trace"
+    };
+
+    // 预过滤时识别的路由装饰器方法名
+    private static final String[] ROUTE_DECORATORS = {
+        "get", "post", "put", "delete", "patch", "head", "options", "trace", "api_route"
+    };
+
+    private final CharSequence text;
+    private final List<Token> tokens = new ArrayList<>();
+
+    private FastApiRouteLexer(CharSequence text) {
+        this.text = text;
+    }
+
+    /**
+     * 分析文件内容并返回路由信息
+     */
+    static FastApiFileRoutes lex(CharSequence text) {
+        FastApiRouteLexer lexer = new FastApiRouteLexer(text);
+        lexer.tokenize();
+        return lexer.collect();
+    }
+
+    /**
+     * 快速判断文件是否可能包含FastAPI路由信息
+     * 除FastAPI/APIRouter/include_router外，还接受@name.get(等路由装饰器调用，
+     * 以免遗漏使用从其他模块导入的路由器的文件
+     */
+    static boolean mayContainRoutes(CharSequence text) {
+        return CharArrayUtil.indexOf(text, "FastAPI", 0) >= 0
+                || CharArrayUtil.indexOf(text, "APIRouter", 0) >= 0
+                || CharArrayUtil.indexOf(text, "include_router", 0) >= 0
+                || containsRouteDecorator(text);
+    }
+
+    /**
+     * 查找形如@ident.get(的装饰器调用
+     */
+    private static boolean containsRouteDecorator(CharSequence text) {
+        int length = text.length();
+        for (int at = CharArrayUtil.indexOf(text, "@", 0); at >= 0; at = CharArrayUtil.indexOf(text, "@", at + 1)) {
+            int i = CharArrayUtil.shiftForward(text, at + 1, " \t");
+            if (i >= length || !Character.isJavaIdentifierStart(text.charAt(i))) continue;
+            i = skipIdentifier(text, i);
+            i = CharArrayUtil.shiftForward(text, i, " \t");
+            if (i >= length || text.charAt(i) != '.') continue;
+
+            int nameStart = CharArrayUtil.shiftForward(text, i + 1, " \t");
+            int nameEnd = skipIdentifier(text, nameStart);
+            i = CharArrayUtil.shiftForward(text, nameEnd, " \t");
+            if (i < length && text.charAt(i) == '(' && isRouteDecorator(text, nameStart, nameEnd)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipIdentifier(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) i++;
+        return i;
+    }
+
+    private static boolean isRouteDecorator(CharSequence text, int start, int end) {
+        for (String name : ROUTE_DECORATORS) {
+            if (end - start == name.length() && CharArrayUtil.regionMatches(text, start, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void tokenize() {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '#') {
+                while (i < length && text.charAt(i) != '\n') i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"' || c == '\'') {
+                i = readString(i);
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(text.charAt(i))) i++;
+                if (i < length && (text.charAt(i) == '"' || text.charAt(i) == '\'') && isStringPrefix(start, i)) {
+                    // f"..."、r'...'等带前缀的字符串
+                    i = readString(i);
+                } else {
+                    tokens.add(new Token(IDENT, start, i));
+                }
+            } else {
+                tokens.add(new Token(PUNCT, i, i + 1));
+                i++;
+            }
+        }
+    }
+
+    private boolean isStringPrefix(int start, int end) {
+        if (end - start > 2) return false;
+        for (int i = start; i < end; i++) {
+            if ("rRbBuUfF".indexOf(text.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 读取字符串字面量（支持三引号），返回结束位置
+     */
+    private int readString(int start) {
+        int length = text.length();
+        char quote = text.charAt(start);
+        boolean triple = start + 2 < length && text.charAt(start + 1) == quote && text.charAt(start + 2) == quote;
+        int valueStart = start + (triple ? 3 : 1);
+        int i = valueStart;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                if (!triple) {
+                    tokens.add(new Token(STRING, valueStart, i));
+                    return i + 1;
+                }
+                if (i + 2 < length && text.charAt(i + 1) == quote && text.charAt(i + 2) == quote) {
+                    tokens.add(new Token(STRING, valueStart, i));
+                    return i + 3;
+                }
+            } else if (c == '\n' && !triple) {
+                // 未闭合的单行字符串
+                return i;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private FastApiFileRoutes collect() {
+        FastApiFileRoutes routes = new FastApiFileRoutes();
+        int size = tokens.size();
+        for (int k = 0; k < size; k++) {
+            Token token = tokens.get(k);
+
+            // @instance.method("path")
+            if (isPunct(k, '@') && isType(k + 1, IDENT) && isPunct(k + 2, '.')
+                    && isType(k + 3, IDENT) && isPunct(k + 4, '(') && isType(k + 5, STRING)) {
+                String httpMethod = getHttpMethod(tokens.get(k + 3));
+                if (httpMethod != null) {
+                    int defIndex = findFunctionName(k + 6);
+                    String functionName = defIndex >= 0 ? value(tokens.get(defIndex)) : "unknown_function";
+                    int offset = defIndex >= 0 ? tokens.get(defIndex).start : token.start;
+                    routes.routes.add(new FastApiFileRoutes.RouteDef(value(tokens.get(k + 1)), httpMethod,
+                            value(tokens.get(k + 5)), functionName, offset));
+                }
+                continue;
+            }
+
+            if (token.type != IDENT) continue;
+
+            // name = FastAPI(...) / name = APIRouter(...)
+            if (isPunct(k + 1, '=') && isType(k + 2, IDENT) && isPunct(k + 3, '(')) {
+                Token callee = tokens.get(k + 2);
+                if (equalsText(callee, "FastAPI")) {
+                    routes.apps.add(value(token));
+                } else if (equalsText(callee, "APIRouter")) {
+                    routes.routers.add(new FastApiFileRoutes.RouterDef(value(token), findPrefixArgument(k + 3)));
+                }
+                continue;
+            }
+
+            // parent.include_router(child, prefix="...")
+            if (isPunct(k + 1, '.') && isType(k + 2, IDENT) && equalsText(tokens.get(k + 2), "include_router")
+                    && isPunct(k + 3, '(') && isType(k + 4, IDENT)) {
+                routes.includes.add(new FastApiFileRoutes.IncludeDef(value(token), value(tokens.get(k + 4)),
+                        findPrefixArgument(k + 3)));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * 查找装饰器后面的函数名（def name）
+     */
+    private int findFunctionName(int from) {
+        for (int j = from; j + 1 < tokens.size(); j++) {
+            if (isType(j, IDENT) && equalsText(tokens.get(j), "def") && isType(j + 1, IDENT)) {
+                return j + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 在调用参数中查找prefix="..."，openIndex为左括号的位置
+     */
+    private String findPrefixArgument(int openIndex) {
+        int depth = 0;
+        for (int j = openIndex; j < tokens.size(); j++) {
+            Token token = tokens.get(j);
+            if (token.type == PUNCT) {
+                char c = text.charAt(token.start);
+                if (c == '(' || c == '[' || c == '{') {
+                    depth++;
+                } else if (c == ')' || c == ']' || c == '}') {
+                    depth--;
+                    if (depth == 0) break;
+                }
+            } else if (depth == 1 && token.type == IDENT && equalsText(token, "prefix")
+                    && isPunct(j + 1, '=') && isType(j + 2, STRING)) {
+                return value(tokens.get(j + 2));
+            }
+        }
+        return "";
+    }
+
+    private String getHttpMethod(Token token) {
+        for (String method : HTTP_METHODS) {
+            if (equalsText(token, method)) {
+                return method.toUpperCase();
+            }
+        }
+        return null;
+    }
+
+    private boolean isType(int index, byte type) {
+        return index < tokens.size() && tokens.get(index).type == type;
+    }
+
+    private boolean isPunct(int index, char c) {
+        return isType(index, PUNCT) && text.charAt(tokens.get(index).start) == c;
+    }
+
+    private boolean equalsText(Token token, String expected) {
+        return token.end - token.start == expected.length()
+                && CharArrayUtil.regionMatches(text, token.start, expected);
+    }
+
+    private String value(Token token) {
+        return text.subSequence(token.start, token.end).toString();
+    }
+
+    private static final class Token {
+        final byte type;
+        final int start;
+        final int end;
+
+        Token(byte type, int start, int end) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
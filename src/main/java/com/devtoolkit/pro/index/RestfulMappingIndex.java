@@ -0,0 +1,269 @@
+package com.devtoolkit.pro.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Spring/JAX-RS映射注解索引
+ * JAX-RS以HTTP方法为键，记录每个Java文件中的映射方法（原始路径、类名、方法名、偏移量），
+ * 扫描端点时只需查询索引，不必为每个Java文件加载PSI；
+ * Spring端点由SpringMappingExtractor通过UAST提取，索引只以SPRING_KEY标记包含Controller映射的文件
+ */
+public final class RestfulMappingIndex extends FileBasedIndexExtension<String, List<RestfulMappingRecord>>
+        implements PsiDependentIndex {
+
+    public static final ID<String, List<RestfulMappingRecord>> NAME = ID.create("DevToolkitPro.RestfulMappingIndex");
+
+    public static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH"};
+
+    /** 包含Spring Controller映射方法的文件只有这一个键，值为空列表 */
+    public static final String SPRING_KEY = "Spring";
+
+    private static final Set<String> SPRING_MAPPING_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "RequestMapping", "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping"));
+
+    // URL路径提取正则（与策略中的提取规则保持一致）
+    private static final Pattern URL_PATTERN = Pattern.compile("\"([^\"]*)\"");
+
+    private static final DataExternalizer<List<RestfulMappingRecord>> EXTERNALIZER =
+            new DataExternalizer<List<RestfulMappingRecord>>() {
+                @Override
+                public void save(@NotNull DataOutput out, List<RestfulMappingRecord> value) throws IOException {
+                    DataInputOutputUtil.writeINT(out, value.size());
+                    for (RestfulMappingRecord record : value) {
+                        out.writeByte(record.getFramework());
+                        IOUtil.writeUTF(out, record.getHttpMethod());
+                        IOUtil.writeUTF(out, record.getClassPath());
+                        IOUtil.writeUTF(out, record.getMethodPath());
+                        IOUtil.writeUTF(out, record.getClassName());
+                        IOUtil.writeUTF(out, record.getMethodName());
+                        DataInputOutputUtil.writeINT(out, record.getOffset());
+                    }
+                }
+
+                @Override
+                public List<RestfulMappingRecord> read(@NotNull DataInput in) throws IOException {
+                    int size = DataInputOutputUtil.readINT(in);
+                    List<RestfulMappingRecord> records = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        byte framework = in.readByte();
+                        String httpMethod = IOUtil.readUTF(in);
+                        String classPath = IOUtil.readUTF(in);
+                        String methodPath = IOUtil.readUTF(in);
+                        String className = IOUtil.readUTF(in);
+                        String methodName = IOUtil.readUTF(in);
+                        int offset = DataInputOutputUtil.readINT(in);
+                        records.add(new RestfulMappingRecord(framework, httpMethod, classPath, methodPath,
+                                className, methodName, offset));
+                    }
+                    return records;
+                }
+            };
+
+    @Override
+    public @NotNull ID<String, List<RestfulMappingRecord>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<RestfulMappingRecord>, FileContent> getIndexer() {
+        return RestfulMappingIndex::indexFile;
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<RestfulMappingRecord>> getValueExternalizer() {
+        return EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * 查找包含映射注解的文件
+     */
+    public static Set<VirtualFile> getContainingFiles(Project project, GlobalSearchScope scope) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        Set<VirtualFile> files = new LinkedHashSet<>(index.getContainingFiles(NAME, SPRING_KEY, scope));
+        for (String httpMethod : HTTP_METHODS) {
+            files.addAll(index.getContainingFiles(NAME, httpMethod, scope));
+        }
+        return files;
+    }
+
+    /**
+     * 获取单个文件中指定框架的映射记录
+     */
+    public static List<RestfulMappingRecord> getRecords(Project project, VirtualFile file, byte framework) {
+        Map<String, List<RestfulMappingRecord>> data = FileBasedIndex.getInstance().getFileData(NAME, file, project);
+        if (data.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<RestfulMappingRecord> records = new ArrayList<>();
+        for (List<RestfulMappingRecord> value : data.values()) {
+            for (RestfulMappingRecord record : value) {
+                if (record.getFramework() == framework) {
+                    records.add(record);
+                }
+            }
+        }
+        records.sort(Comparator.comparingInt(RestfulMappingRecord::getOffset));
+        return records;
+    }
+
+    /**
+     * 索引单个Java文件（包括各层内部类）
+     * 只使用注解的短名称，不做任何引用解析
+     */
+    private static Map<String, List<RestfulMappingRecord>> indexFile(FileContent inputData) {
+        CharSequence text = inputData.getContentAsText();
+        if (!StringUtil.contains(text, "Mapping") && !StringUtil.contains(text, "Path")) {
+            return Collections.emptyMap();
+        }
+
+        PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof PsiJavaFile)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, List<RestfulMappingRecord>> result = new HashMap<>();
+        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+            indexClass(psiClass, result);
+        }
+        return result;
+    }
+
+    private static void indexClass(PsiClass psiClass, Map<String, List<RestfulMappingRecord>> result) {
+        indexSpringClass(psiClass, result);
+        indexJaxRsClass(psiClass, result);
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            indexClass(innerClass, result);
+        }
+    }
+
+    /**
+     * 标记Spring Controller类：存在带映射注解的方法时记录SPRING_KEY
+     */
+    private static void indexSpringClass(PsiClass psiClass, Map<String, List<RestfulMappingRecord>> result) {
+        if (result.containsKey(SPRING_KEY)) {
+            return;
+        }
+        boolean controller = false;
+        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
+            String name = getShortName(annotation);
+            if (name != null && (name.endsWith("RestController") || name.endsWith("Controller")
+                    || name.endsWith("RequestMapping"))) {
+                controller = true;
+                break;
+            }
+        }
+        if (!controller) {
+            return;
+        }
+
+        for (PsiMethod method : psiClass.getMethods()) {
+            for (PsiAnnotation annotation : method.getAnnotations()) {
+                String name = getShortName(annotation);
+                if (name != null && SPRING_MAPPING_ANNOTATIONS.contains(name)) {
+                    result.put(SPRING_KEY, Collections.emptyList());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 索引JAX-RS资源类
+     */
+    private static void indexJaxRsClass(PsiClass psiClass, Map<String, List<RestfulMappingRecord>> result) {
+        String classPath = null;
+        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
+            if ("Path".equals(getShortName(annotation))) {
+                classPath = extractFirstString(annotation.getText());
+                break;
+            }
+        }
+        if (classPath == null) {
+            return;
+        }
+
+        for (PsiMethod method : psiClass.getMethods()) {
+            String httpMethod = null;
+            String methodPath = "";
+            for (PsiAnnotation annotation : method.getAnnotations()) {
+                String name = getShortName(annotation);
+                if (name == null) continue;
+                if (httpMethod == null && isJaxRsHttpMethod(name)) {
+                    httpMethod = name;
+                }
+                if ("Path".equals(name)) {
+                    methodPath = extractFirstString(annotation.getText());
+                }
+            }
+
+            if (httpMethod != null) {
+                addRecord(result, new RestfulMappingRecord(RestfulMappingRecord.FRAMEWORK_JAXRS, httpMethod,
+                        classPath, methodPath, StringUtil.notNullize(psiClass.getName()),
+                        method.getName(), method.getTextOffset()));
+            }
+        }
+    }
+
+    private static void addRecord(Map<String, List<RestfulMappingRecord>> result, RestfulMappingRecord record) {
+        result.computeIfAbsent(record.getHttpMethod(), k -> new ArrayList<>()).add(record);
+    }
+
+    private static String getShortName(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        return reference != null ? reference.getReferenceName() : null;
+    }
+
+    private static String extractFirstString(String annotationText) {
+        Matcher urlMatcher = URL_PATTERN.matcher(annotationText);
+        return urlMatcher.find() ? urlMatcher.group(1) : "";
+    }
+
+    private static boolean isJaxRsHttpMethod(String name) {
+        for (String httpMethod : HTTP_METHODS) {
+            if (httpMethod.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
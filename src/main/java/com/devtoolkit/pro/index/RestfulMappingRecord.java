@@ -0,0 +1,105 @@
+package com.devtoolkit.pro.index;
+
+import java.util.Objects;
+
+/**
+ * 索引中的单条映射记录
+ * 保存JAX-RS方法上的映射信息（HTTP方法、原始路径、类名、方法名、偏移量）
+ */
+public final class RestfulMappingRecord {
+
+    public static final byte FRAMEWORK_JAXRS = 1;
+
+    private final byte framework;
+    private final String httpMethod;
+    private final String classPath;
+    private final String methodPath;
+    private final String className;
+    private final String methodName;
+    private final int offset;
+
+    public RestfulMappingRecord(byte framework, String httpMethod, String classPath, String methodPath,
+                                String className, String methodName, int offset) {
+        this.framework = framework;
+        this.httpMethod = httpMethod;
+        this.classPath = classPath;
+        this.methodPath = methodPath;
+        this.className = className;
+        this.methodName = methodName;
+        this.offset = offset;
+    }
+
+    public byte getFramework() {
+        return framework;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getClassPath() {
+        return classPath;
+    }
+
+    public String getMethodPath() {
+        return methodPath;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * 组合完整路径（与JAX-RS combinePaths保持一致）
+     */
+    public String buildFullPath() {
+        String fullPath = combineJaxRsPaths(classPath, methodPath);
+        return fullPath.isEmpty() ? "/" : fullPath;
+    }
+
+    private static String combineJaxRsPaths(String classPath, String methodPath) {
+        if (classPath.isEmpty()) {
+            return methodPath;
+        }
+        if (methodPath.isEmpty()) {
+            return classPath;
+        }
+        if (!classPath.startsWith("/")) {
+            classPath = "/" + classPath;
+        }
+        if (!methodPath.startsWith("/")) {
+            methodPath = "/" + methodPath;
+        }
+        if (classPath.endsWith("/")) {
+            classPath = classPath.substring(0, classPath.length() - 1);
+        }
+        return classPath + methodPath;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RestfulMappingRecord)) return false;
+        RestfulMappingRecord that = (RestfulMappingRecord) o;
+        return framework == that.framework
+                && offset == that.offset
+                && httpMethod.equals(that.httpMethod)
+                && classPath.equals(that.classPath)
+                && methodPath.equals(that.methodPath)
+                && className.equals(that.className)
+                && methodName.equals(that.methodName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(framework, httpMethod, classPath, methodPath, className, methodName, offset);
+    }
+}
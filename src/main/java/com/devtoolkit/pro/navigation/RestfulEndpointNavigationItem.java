@@ -3,31 +3,74 @@ package com.devtoolkit.pro.navigation;
 import com.devtoolkit.pro.icons.HttpMethodIconProvider;
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Segment;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiMethod;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.util.containers.Interner;
+import org.jetbrains.uast.UMethod;
+import org.jetbrains.uast.UastContextKt;
 import javax.swing.*;
+import java.util.Objects;
 
 /**
  * RESTful端点导航项
- * 用于在IntelliJ IDEA的搜索对话框中表示RESTful API端点
+ * 用于在IntelliJ IDEA的搜索对话框中表示RESTful API端点；不可变，字符串经过驻留，
+ * 只保存智能指针或文件+偏移量，不持有PSI，相等性由HTTP方法、路径、类名和方法名决定
  */
 public class RestfulEndpointNavigationItem implements NavigationItem {
+    // 大量端点共享相同的HTTP方法、类名和路径，弱引用驻留避免重复的字符串实例
+    private static final Interner<String> INTERNER = Interner.createWeakInterner();
+
     private final String httpMethod;
     private final String path;
     private final String className;
     private final String methodName;
-    private final PsiMethod psiMethod;
+    // 没有对应物理文件的PSI方法保存智能指针，重新解析后仍然有效且不会固定PSI树
+    private final SmartPsiElementPointer<PsiMethod> methodPointer;
     private final Project project;
+    // 其余端点只记录文件和偏移量，导航时再解析PSI
+    private final VirtualFile file;
+    private final int offset;
+    private final int hashCode;
 
     public RestfulEndpointNavigationItem(String httpMethod, String path,
                                        String className, String methodName,
                                        PsiMethod psiMethod, Project project) {
-        this.httpMethod = httpMethod;
-        this.path = path;
-        this.className = className;
-        this.methodName = methodName;
-        this.psiMethod = psiMethod;
+        this.httpMethod = intern(httpMethod);
+        this.path = intern(path);
+        this.className = intern(className);
+        this.methodName = intern(methodName);
+        // 轻量方法（如Kotlin/Groovy生成的方法）本身没有文件，使用其导航元素所在的源文件
+        PsiElement target = psiMethod != null ? psiMethod.getNavigationElement() : null;
+        VirtualFile methodFile = target != null ? PsiUtilCore.getVirtualFile(target) : null;
+        this.methodPointer = psiMethod != null && methodFile == null
+                ? SmartPointerManager.getInstance(project).createSmartPsiElementPointer(psiMethod) : null;
+        this.project = project;
+        this.file = methodFile;
+        this.offset = methodFile != null ? target.getTextOffset() : -1;
+        this.hashCode = computeHashCode();
+    }
+
+    public RestfulEndpointNavigationItem(String httpMethod, String path,
+                                       String className, String methodName,
+                                       VirtualFile file, int offset, Project project) {
+        this.httpMethod = intern(httpMethod);
+        this.path = intern(path);
+        this.className = intern(className);
+        this.methodName = intern(methodName);
+        this.methodPointer = null;
         this.project = project;
+        this.file = file;
+        this.offset = offset;
+        this.hashCode = computeHashCode();
     }
 
     @Override
@@ -58,14 +101,21 @@ public class RestfulEndpointNavigationItem implements NavigationItem {
 
     @Override
     public void navigate(boolean requestFocus) {
-        if (psiMethod != null && psiMethod.isValid()) {
-            psiMethod.navigate(requestFocus);
+        PsiMethod method = methodPointer != null ? methodPointer.getElement() : null;
+        if (method != null && method.isValid()) {
+            method.navigate(requestFocus);
+        } else if (file != null && file.isValid()) {
+            new OpenFileDescriptor(project, file, Math.max(offset, 0)).navigate(requestFocus);
         }
     }
 
     @Override
     public boolean canNavigate() {
-        return psiMethod != null && psiMethod.isValid() && psiMethod.canNavigate();
+        if (methodPointer != null) {
+            PsiMethod method = methodPointer.getElement();
+            return method != null && method.isValid() && method.canNavigate();
+        }
+        return file != null && file.isValid();
     }
 
     @Override
@@ -91,13 +141,55 @@ public class RestfulEndpointNavigationItem implements NavigationItem {
     }
 
     public PsiMethod getPsiMethod() {
-        return psiMethod;
+        if (methodPointer != null) {
+            return methodPointer.getElement();
+        }
+        if (file == null || !file.isValid() || offset < 0) {
+            return null;
+        }
+        // 按偏移量延迟解析方法；Kotlin等语言的函数不是PsiMethod，经UAST取其Java视图
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        PsiElement element = psiFile != null ? psiFile.findElementAt(offset) : null;
+        UMethod method = element != null ? UastContextKt.getUastParentOfType(element, UMethod.class, false) : null;
+        return method != null ? method.getJavaPsi() : null;
+    }
+
+    public VirtualFile getFile() {
+        return methodPointer != null ? methodPointer.getVirtualFile() : file;
+    }
+
+    /**
+     * 方法在文件中的偏移量，基于智能指针的端点取指针当前范围的起点，无法确定时返回-1
+     */
+    public int getOffset() {
+        if (methodPointer != null) {
+            Segment range = methodPointer.getRange();
+            return range != null ? range.getStartOffset() : -1;
+        }
+        return offset;
     }
 
     public Project getProject() {
         return project;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RestfulEndpointNavigationItem)) return false;
+        RestfulEndpointNavigationItem that = (RestfulEndpointNavigationItem) o;
+        return hashCode == that.hashCode
+                && Objects.equals(httpMethod, that.httpMethod)
+                && Objects.equals(path, that.path)
+                && Objects.equals(className, that.className)
+                && Objects.equals(methodName, that.methodName);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
     @Override
     public String toString() {
         return getName() + " (" + getLocationString() + ")";
@@ -106,4 +198,12 @@ public class RestfulEndpointNavigationItem implements NavigationItem {
     private String getLocationString() {
         return className + "." + methodName;
     }
+
+    private int computeHashCode() {
+        return Objects.hash(httpMethod, path, className, methodName);
+    }
+
+    private static String intern(String value) {
+        return value != null ? INTERNER.intern(value) : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.devtoolkit.pro.search;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 缩写匹配索引
+ * 为每个文档预先计算路径段首字母（/users/{id}/orders/items -> uoi）以及类名、方法名的驼峰首字母
+ * （UserController -> uc），并以首字母串的每个后缀为键建立有序映射。缩写查询先按首字母前缀查找候选，
+ * 再校验每个缩写片段是否为对应单词的前缀：
+ * u/o/i、uoi、us/ord 匹配路径，UC、UsCo.get、UC.gU 匹配类名和方法名。
+ * 缩写片段必须对应连续的单词。文档ID必须递增分配，非线程安全
+ */
+public final class AbbreviationIndex {
+
+    // 路径首字母后缀 -> 文档ID（升序）
+    private final NavigableMap<String, IntList> pathInitials = new TreeMap<>();
+    private final NavigableMap<String, IntList> classInitials = new TreeMap<>();
+    private final NavigableMap<String, IntList> methodInitials = new TreeMap<>();
+    // 下标为文档ID，删除的文档置为null
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * 添加文档，docId必须大于之前添加的所有文档ID
+     */
+    public void add(int docId, @Nullable String path, @Nullable String className, @Nullable String methodName) {
+        Entry entry = new Entry(pathWords(path), camelWords(className), camelWords(methodName));
+        while (entries.size() < docId) {
+            entries.add(null);
+        }
+        entries.add(entry);
+        addInitials(pathInitials, entry.pathWords, docId);
+        addInitials(classInitials, entry.classWords, docId);
+        addInitials(methodInitials, entry.methodWords, docId);
+    }
+
+    /**
+     * 删除文档
+     */
+    public void remove(int docId) {
+        if (docId < entries.size()) {
+            entries.set(docId, null);
+        }
+    }
+
+    /**
+     * 查询是否为缩写形式，返回按匹配位置排序的最多limit个文档ID（越靠前开始匹配越好，其次剩余单词越少）
+     * 不是缩写形式或没有匹配时返回空数组
+     */
+    public int[] search(@NotNull String query, int limit) {
+        String text = SearchQueries.stripMethodAndQuery(query);
+        if (text.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        Map<Integer, Long> ranks = new HashMap<>();
+        int dot = text.indexOf('.');
+        if (dot >= 0) {
+            // 类名缩写.方法名缩写
+            String[] classChunks = camelChunks(text.substring(0, dot));
+            String[] methodChunks = camelChunks(text.substring(dot + 1));
+            if (classChunks == null || methodChunks == null || classChunks.length == 0) {
+                return new int[0];
+            }
+            collect(classInitials, classChunks, entry -> entry.classWords, ranks);
+            if (methodChunks.length > 0) {
+                ranks.keySet().removeIf(docId -> rank(entries.get(docId).methodWords, methodChunks) < 0);
+            }
+        } else if (text.indexOf('/') >= 0) {
+            String[] pathChunks = pathChunks(text);
+            if (pathChunks == null) {
+                return new int[0];
+            }
+            collect(pathInitials, pathChunks, entry -> entry.pathWords, ranks);
+        } else if (hasInnerUpperCase(text)) {
+            // 驼峰缩写同时匹配类名和方法名
+            String[] chunks = camelChunks(text);
+            if (chunks == null) {
+                return new int[0];
+            }
+            collect(classInitials, chunks, entry -> entry.classWords, ranks);
+            collect(methodInitials, chunks, entry -> entry.methodWords, ranks);
+        } else if (text.length() >= 2 && isLetters(text)) {
+            // 纯小写字母按路径段首字母匹配
+            String[] chunks = new String[text.length()];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = String.valueOf(Character.toLowerCase(text.charAt(i)));
+            }
+            collect(pathInitials, chunks, entry -> entry.pathWords, ranks);
+        }
+
+        long[] ranked = new long[ranks.size()];
+        int size = 0;
+        for (Map.Entry<Integer, Long> rank : ranks.entrySet()) {
+            // 高位为排名、低位为文档ID，排序后即为所需顺序
+            ranked[size++] = (rank.getValue() << 32) | rank.getKey();
+        }
+        Arrays.sort(ranked);
+        int[] result = new int[Math.min(size, limit)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    /**
+     * 查询是否带有明确的缩写形式（多个路径段、含 . 分隔或驼峰大写如 UC），此时缩写结果应排在模糊匹配之前；
+     * 纯小写字母（如 uoi、api）也可能是普通子串查询，缩写结果只追加在模糊匹配之后
+     */
+    public static boolean isExplicitAbbreviation(@NotNull String query) {
+        String text = SearchQueries.stripMethodAndQuery(query);
+        // 只有一个路径段（如 /users）时是普通路径查询
+        int slash = text.indexOf('/', 1);
+        boolean segments = slash > 0 && slash < text.length() - 1;
+        return segments || text.indexOf('.') >= 0 || hasInnerUpperCase(text);
+    }
+
+    /**
+     * 按缩写片段的首字母前缀查找候选文档并校验，记录每个文档的最佳排名
+     */
+    private void collect(NavigableMap<String, IntList> index, String[] chunks,
+                         Function<Entry, String[]> words, Map<Integer, Long> ranks) {
+        StringBuilder initials = new StringBuilder(chunks.length);
+        for (String chunk : chunks) {
+            initials.append(chunk.charAt(0));
+        }
+        String prefix = initials.toString();
+        for (IntList list : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (int i = 0; i < list.size; i++) {
+                int docId = list.ids[i];
+                Entry entry = entries.get(docId);
+                if (entry == null) {
+                    continue;
+                }
+                long rank = rank(words.apply(entry), chunks);
+                if (rank >= 0) {
+                    ranks.merge(docId, rank, Math::min);
+                }
+            }
+        }
+    }
+
+    /**
+     * 缩写片段依次为连续单词的前缀时返回排名（开始位置 * 64 + 剩余单词数），不匹配时返回-1
+     */
+    static long rank(String[] words, String[] chunks) {
+        for (int start = 0; start + chunks.length <= words.length; start++) {
+            boolean matched = true;
+            for (int i = 0; i < chunks.length && matched; i++) {
+                matched = words[start + i].startsWith(chunks[i]);
+            }
+            if (matched) {
+                int remaining = words.length - start - chunks.length;
+                return (long) start * 64 + Math.min(remaining, 63);
+            }
+        }
+        return -1;
+    }
+
+    private static void addInitials(NavigableMap<String, IntList> index, String[] words, int docId) {
+        char[] initials = new char[words.length];
+        for (int i = 0; i < words.length; i++) {
+            initials[i] = words[i].charAt(0);
+        }
+        for (int start = 0; start < initials.length; start++) {
+            String key = new String(initials, start, initials.length - start);
+            index.computeIfAbsent(key, k -> new IntList()).append(docId);
+        }
+    }
+
+    /**
+     * 路径中的单词（小写），忽略路径变量
+     */
+    static String[] pathWords(@Nullable String path) {
+        return TypoTolerantIndex.segments(path).toArray(new String[0]);
+    }
+
+    /**
+     * 按驼峰、数字和下划线拆分的单词（小写）
+     * 例如：getUserById -> get, user, by, id；HTTPClient -> http, client
+     */
+    static String[] camelWords(@Nullable String name) {
+        List<String> words = new ArrayList<>();
+        if (name == null) {
+            return new String[0];
+        }
+        int start = -1;
+        for (int i = 0; i <= name.length(); i++) {
+            boolean boundary = i == name.length() || !Character.isLetterOrDigit(name.charAt(i));
+            if (!boundary && start >= 0 && i > start) {
+                char previous = name.charAt(i - 1);
+                char c = name.charAt(i);
+                boolean next = i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+                boundary = (Character.isUpperCase(c) && (Character.isLowerCase(previous) || next))
+                        || (Character.isDigit(c) != Character.isDigit(previous));
+            }
+            if (boundary && start >= 0) {
+                words.add(name.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            if (i < name.length() && Character.isLetterOrDigit(name.charAt(i)) && start < 0) {
+                start = i;
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * 驼峰缩写片段：每个大写字母及数字与字母的交界开始一个新片段，如 UsCo -> us, co；gU -> g, u
+     * @return 包含字母数字以外的字符时返回null
+     */
+    static @Nullable String[] camelChunks(String text) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                return null;
+            }
+            if (i > start && (Character.isUpperCase(c) || Character.isDigit(c) != Character.isDigit(text.charAt(i - 1)))) {
+                chunks.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = i;
+            }
+        }
+        if (start < text.length()) {
+            chunks.add(text.substring(start).toLowerCase(Locale.ROOT));
+        }
+        return chunks.toArray(new String[0]);
+    }
+
+    /**
+     * 路径缩写片段：u/o/i -> u, o, i；开头的 / 可省略
+     * @return 出现空片段或路径变量时返回null
+     */
+    private static @Nullable String[] pathChunks(String text) {
+        String trimmed = text.startsWith("/") ? text.substring(1) : text;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        String[] chunks = trimmed.toLowerCase(Locale.ROOT).split("/", -1);
+        for (String chunk : chunks) {
+            if (chunk.isEmpty() || !Character.isLetterOrDigit(chunk.charAt(0))) {
+                return null;
+            }
+        }
+        return chunks;
+    }
+
+    private static boolean hasInnerUpperCase(String text) {
+        for (int i = 1; i < text.length(); i++) {
+            if (Character.isUpperCase(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLetters(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetter(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个文档预先拆分好的单词
+     */
+    private static final class Entry {
+        private final String[] pathWords;
+        private final String[] classWords;
+        private final String[] methodWords;
+
+        private Entry(String[] pathWords, String[] classWords, String[] methodWords) {
+            this.pathWords = pathWords;
+            this.classWords = classWords;
+            this.methodWords = methodWords;
+        }
+    }
+}
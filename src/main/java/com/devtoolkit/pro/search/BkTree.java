@@ -0,0 +1,133 @@
+package com.devtoolkit.pro.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * BK树（按编辑距离组织的字符串字典）
+ * 子节点按与父节点的编辑距离分组，查询时根据三角不等式只访问距离区间[d-k, d+k]内的子树。
+ * 计算距离复用内部缓冲区，非线程安全
+ */
+final class BkTree {
+
+    private Node root;
+    private int size;
+    private int[] previousRow = new int[16];
+    private int[] currentRow = new int[16];
+
+    /**
+     * 添加字符串，已存在时忽略
+     */
+    void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 查找与query编辑距离不超过maxDistance的字符串
+     */
+    void search(String query, int maxDistance, Visitor visitor) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int distance = distance(query, node.term);
+            if (distance <= maxDistance) {
+                visitor.visit(node.term, distance);
+            }
+            if (node.children == null) {
+                continue;
+            }
+            int from = Math.max(1, distance - maxDistance);
+            int to = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int i = from; i <= to; i++) {
+                if (node.children[i] != null) {
+                    stack.push(node.children[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Levenshtein编辑距离（满足三角不等式，BK树的剪枝依赖这一点）
+     */
+    int distance(String a, String b) {
+        int lengthB = b.length();
+        if (previousRow.length <= lengthB) {
+            previousRow = new int[lengthB + 1];
+            currentRow = new int[lengthB + 1];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int j = 0; j <= lengthB; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= lengthB; j++) {
+                int cost = c == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[lengthB];
+    }
+
+    /**
+     * 查询结果回调
+     */
+    interface Visitor {
+        void visit(String term, int distance);
+    }
+
+    private static final class Node {
+        private final String term;
+        // 下标为与本节点的编辑距离
+        private Node[] children;
+
+        private Node(String term) {
+            this.term = term;
+        }
+
+        private Node child(int distance) {
+            return children != null && distance < children.length ? children[distance] : null;
+        }
+
+        private void setChild(int distance, Node child) {
+            if (children == null) {
+                children = new Node[Math.max(distance + 1, 4)];
+            } else if (distance >= children.length) {
+                children = Arrays.copyOf(children, Math.max(distance + 1, children.length * 2));
+            }
+            children[distance] = child;
+        }
+    }
+}
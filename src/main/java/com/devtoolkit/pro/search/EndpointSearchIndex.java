@@ -0,0 +1,177 @@
+package com.devtoolkit.pro.search;
+
+import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.devtoolkit.pro.services.EndpointStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 端点搜索索引
+ * 对路径、控制器名和方法名建立模糊搜索语料（含三元组索引）、路径段容错索引和缩写索引，
+ * 文档只记录端点在目录存储中的行号，目录变化时按行的字典编码比较差异并增量更新，只为返回的前K个结果生成导航项
+ */
+public final class EndpointSearchIndex {
+
+    private FuzzySearchCorpus<Void> corpus = createCorpus();
+    // 与语料共用下标，用于容错匹配路径段
+    private TypoTolerantIndex typoIndex = new TypoTolerantIndex();
+    // 与语料共用下标，用于路径段首字母和驼峰缩写匹配
+    private AbbreviationIndex abbreviationIndex = new AbbreviationIndex();
+    // 文档ID -> 在当前存储中的行号，已删除的文档为-1
+    private int[] rows = new int[16];
+    private EndpointStore store;
+
+    /**
+     * 同步到新的端点存储：未变化的端点只更新行号，只为新增的端点建立索引，删除消失的端点
+     */
+    public synchronized void update(@NotNull EndpointStore endpoints) {
+        if (endpoints == store) {
+            return;
+        }
+
+        // 换用新字典后行无法按ID比较；删除的条目过多时重建，避免下标空间无限增长
+        if (store != null && (store.getDictionary() != endpoints.getDictionary()
+                || corpus.size() > 2 * corpus.liveCount() + 1024)) {
+            corpus = createCorpus();
+            typoIndex = new TypoTolerantIndex();
+            abbreviationIndex = new AbbreviationIndex();
+            store = null;
+        }
+
+        BitSet matched = new BitSet(endpoints.size());
+        if (store != null) {
+            int[] table = buildRowTable(endpoints);
+            for (int docId = 0; docId < corpus.size(); docId++) {
+                if (rows[docId] < 0) {
+                    continue;
+                }
+                int row = findRow(table, endpoints, rows[docId]);
+                if (row >= 0 && !matched.get(row)) {
+                    matched.set(row);
+                    rows[docId] = row;
+                } else {
+                    corpus.remove(docId);
+                    typoIndex.remove(docId);
+                    abbreviationIndex.remove(docId);
+                    rows[docId] = -1;
+                }
+            }
+        }
+
+        for (int row = matched.nextClearBit(0); row < endpoints.size(); row = matched.nextClearBit(row + 1)) {
+            String path = endpoints.getPath(row);
+            String className = endpoints.getClassName(row);
+            String methodName = endpoints.getMethodName(row);
+            int docId = corpus.addText(getSearchText(path, className, methodName));
+            if (docId == rows.length) {
+                rows = Arrays.copyOf(rows, docId * 2);
+            }
+            rows[docId] = row;
+            typoIndex.add(docId, path);
+            abbreviationIndex.add(docId, path, className, methodName);
+        }
+        store = endpoints;
+    }
+
+    /**
+     * 搜索端点，按相关性降序返回最多limit个
+     */
+    public synchronized @NotNull List<RestfulEndpointNavigationItem> search(@NotNull String query, int limit) {
+        FuzzySearchCorpus.Query compiled = new FuzzySearchCorpus.Query(query);
+        return compiled.isEmpty() ? firstEndpoints(limit) : toEndpoints(corpus.searchIndices(compiled, limit, null));
+    }
+
+    /**
+     * 在搜索会话中搜索，会话缓存的匹配集合用于缩小后续输入的搜索范围
+     */
+    public synchronized @NotNull List<RestfulEndpointNavigationItem> search(
+            @NotNull SearchSession<?> session, @NotNull String query, int limit) {
+        int[] found = session.searchIndices(corpus, query, limit);
+        return found != null ? toEndpoints(found) : firstEndpoints(limit);
+    }
+
+    /**
+     * 容错搜索：路径段允许1~2处拼写错误，按总编辑距离升序返回最多limit个端点
+     */
+    public synchronized @NotNull List<RestfulEndpointNavigationItem> searchTolerant(@NotNull String query, int limit) {
+        return toEndpoints(typoIndex.search(query, limit));
+    }
+
+    /**
+     * 缩写搜索：u/o/i、uoi 匹配路径段首字母，UC.get 匹配类名和方法名的驼峰缩写
+     */
+    public synchronized @NotNull List<RestfulEndpointNavigationItem> searchAbbreviation(@NotNull String query, int limit) {
+        return toEndpoints(abbreviationIndex.search(query, limit));
+    }
+
+    private List<RestfulEndpointNavigationItem> toEndpoints(int[] found) {
+        List<RestfulEndpointNavigationItem> result = new ArrayList<>(found.length);
+        for (int docId : found) {
+            result.add(store.get(rows[docId]));
+        }
+        return result;
+    }
+
+    /**
+     * 空查询按存储顺序返回前limit个端点
+     */
+    private List<RestfulEndpointNavigationItem> firstEndpoints(int limit) {
+        int count = store != null ? Math.min(limit, store.size()) : 0;
+        List<RestfulEndpointNavigationItem> result = new ArrayList<>(count);
+        for (int row = 0; row < count; row++) {
+            result.add(store.get(row));
+        }
+        return result;
+    }
+
+    /**
+     * 按结构哈希把新存储的行放入开放寻址表（保存行号+1，0表示空槽）
+     */
+    private static int[] buildRowTable(EndpointStore endpoints) {
+        int[] table = new int[Integer.highestOneBit(Math.max(endpoints.size(), 8) * 2 - 1) << 1];
+        int mask = table.length - 1;
+        for (int row = 0; row < endpoints.size(); row++) {
+            int slot = spread(endpoints.rowHashCode(row)) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = row + 1;
+        }
+        return table;
+    }
+
+    /**
+     * 在新存储中查找与当前存储第oldRow行相等的行，不存在时返回-1
+     */
+    private int findRow(int[] table, EndpointStore endpoints, int oldRow) {
+        int mask = table.length - 1;
+        for (int slot = spread(store.rowHashCode(oldRow)) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (endpoints.rowEquals(row, store, oldRow)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static FuzzySearchCorpus<Void> createCorpus() {
+        return new FuzzySearchCorpus<>(Collections.emptyList(), item -> null);
+    }
+
+    /**
+     * 参与搜索的文本：路径在前，便于前缀匹配加分
+     */
+    static String getSearchText(String path, String className, String methodName) {
+        return path + " " + className + "." + methodName;
+    }
+}
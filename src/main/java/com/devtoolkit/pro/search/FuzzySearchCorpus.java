@@ -0,0 +1,486 @@
+package com.devtoolkit.pro.search;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 预编译的模糊搜索语料
+ * 每个条目预先保存小写char[]和64位字符位图，查询时先用一次按位与排除不可能匹配的条目，
+ * 评分过程不分配对象，结果通过固定大小的最小堆选出前K个。
+ * 条目同时写入三元组倒排索引，查询足够长时先在包含查询三元组的候选集中评分，
+ * 包含查询子串的结果足够多时不再扫描全部条目。支持增量添加和删除，非线程安全
+ */
+public final class FuzzySearchCorpus<T> {
+
+    private static final char[][] HTTP_METHODS = {
+        "get".toCharArray(), "post".toCharArray(), "put".toCharArray(), "delete".toCharArray(),
+        "patch".toCharArray(), "head".toCharArray(), "options".toCharArray()
+    };
+
+    private final Function<? super T, String> textFunction;
+    private final TrigramIndex trigrams = new TrigramIndex();
+    // 下标即文档ID，删除的条目文本置为null（位图为0，任何查询都不会匹配）
+    private final List<T> items;
+    private char[][] texts;
+    private long[] masks;
+    private int liveCount;
+    // 每次添加或删除条目时递增，搜索会话据此判断缓存的候选集是否失效
+    private int modificationCount;
+
+    public FuzzySearchCorpus(@NotNull List<? extends T> items, @NotNull Function<? super T, String> textFunction) {
+        int size = items.size();
+        this.textFunction = textFunction;
+        this.items = new ArrayList<>(size);
+        this.texts = new char[Math.max(size, 16)][];
+        this.masks = new long[texts.length];
+        for (T item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * 添加条目并返回其下标
+     */
+    public int add(@NotNull T item) {
+        return add(item, textFunction.apply(item));
+    }
+
+    /**
+     * 只按文本添加条目并返回其下标，条目没有对应的对象（get返回null），由调用方按下标自行映射
+     */
+    public int addText(@Nullable String text) {
+        return add(null, text);
+    }
+
+    private int add(@Nullable T item, @Nullable String text) {
+        int index = items.size();
+        if (index == texts.length) {
+            texts = Arrays.copyOf(texts, index * 2);
+            masks = Arrays.copyOf(masks, index * 2);
+        }
+        char[] chars = text != null ? text.toLowerCase().toCharArray() : new char[0];
+        items.add(item);
+        texts[index] = chars;
+        masks[index] = mask(chars);
+        trigrams.add(index, chars);
+        liveCount++;
+        modificationCount++;
+        return index;
+    }
+
+    /**
+     * 删除条目，其余条目的下标不变
+     */
+    public void remove(int index) {
+        if (texts[index] == null) {
+            return;
+        }
+        items.set(index, null);
+        texts[index] = null;
+        masks[index] = 0;
+        trigrams.remove(index);
+        liveCount--;
+        modificationCount++;
+    }
+
+    /**
+     * 下标上限（包括已删除的条目）
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * 未删除的条目数
+     */
+    public int liveCount() {
+        return liveCount;
+    }
+
+    /**
+     * 条目集合的修改计数
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * 获取条目，已删除或只按文本添加时返回null
+     */
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * 条目的小写文本（只读），已删除时返回null
+     */
+    public char[] getText(int index) {
+        return texts[index];
+    }
+
+    /**
+     * 搜索并按相关性返回最多limit个条目
+     */
+    public @NotNull List<T> search(@Nullable String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            List<T> result = new ArrayList<>(Math.min(limit, liveCount));
+            for (int i = 0; i < items.size() && result.size() < limit; i++) {
+                if (texts[i] != null) {
+                    result.add(items.get(i));
+                }
+            }
+            return result;
+        }
+        int[] indices = searchIndices(new Query(query), limit, null);
+        List<T> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(items.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * 搜索并返回按相关性降序排列的条目下标
+     * @param candidates 必须包含全部匹配的条目（如之前的matchingIndices结果），只用于跳过不匹配的条目；
+     *                   为null时搜索全部条目
+     */
+    public int[] searchIndices(@NotNull Query query, int limit, @Nullable int[] candidates) {
+        // 包含查询子串的条目总是排在只按子序列匹配的条目之前，数量足够时无需扫描其余条目
+        int[] trigramCandidates = trigrams.candidates(query.chars);
+        if (trigramCandidates != null && trigramCandidates.length >= limit
+                && (candidates == null || trigramCandidates.length < candidates.length)) {
+            TopK topK = new TopK(limit);
+            int containing = 0;
+            for (int index : trigramCandidates) {
+                if (offer(topK, query, index)) {
+                    containing++;
+                }
+            }
+            if (containing >= limit) {
+                return topK.toSortedIndices();
+            }
+        }
+
+        TopK topK = new TopK(Math.min(limit, candidates != null ? candidates.length : items.size()));
+        if (candidates != null) {
+            for (int index : candidates) {
+                offer(topK, query, index);
+            }
+        } else {
+            for (int index = 0; index < items.size(); index++) {
+                offer(topK, query, index);
+            }
+        }
+        return topK.toSortedIndices();
+    }
+
+    /**
+     * 返回所有匹配条目的下标（按下标升序），用于缩小后续查询的候选集
+     * @param candidates 只在这些下标中查找，为null时查找全部条目
+     */
+    public int[] matchingIndices(@NotNull Query query, @Nullable int[] candidates) {
+        int count = candidates != null ? candidates.length : items.size();
+        int[] result = new int[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int index = candidates != null ? candidates[i] : i;
+            if (matches(query, index)) {
+                result[size++] = index;
+            }
+        }
+        return size == count ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 条目是否匹配：包含查询的全部字符，且查询是条目文本的子序列
+     */
+    public boolean matches(@NotNull Query query, int index) {
+        return (masks[index] & query.mask) == query.mask && isSubsequence(query.chars, texts[index]);
+    }
+
+    /**
+     * 计算匹配分数，不匹配时返回0
+     */
+    public double score(@NotNull Query query, int index) {
+        if (!matches(query, index)) {
+            return 0.0;
+        }
+        char[] text = texts[index];
+        return score(text, query.chars, indexOf(text, query.chars, 0, text.length) >= 0, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * 对匹配的条目评分并放入堆中
+     * @return 条目是否包含查询子串
+     */
+    private boolean offer(TopK topK, Query query, int index) {
+        if ((masks[index] & query.mask) != query.mask) {
+            return false;
+        }
+        char[] text = texts[index];
+        if (!isSubsequence(query.chars, text)) {
+            return false;
+        }
+        boolean contains = indexOf(text, query.chars, 0, text.length) >= 0;
+        topK.offer(index, score(text, query.chars, contains, topK.threshold()));
+        return contains;
+    }
+
+    /**
+     * 评分沿用原FuzzySearchUtil的规则：完全匹配、前缀、包含、连续字符、顺序字符、路径段、HTTP方法和长度惩罚
+     * 分数上限不超过threshold时提前返回上限，调用方不会采用该结果
+     */
+    static double score(char[] item, char[] query, boolean contains, double threshold) {
+        if (item.length == query.length && regionMatches(item, 0, query)) {
+            return 1000.0;
+        }
+
+        // 候选条目都包含查询子序列，顺序匹配和字符匹配均为满分
+        double score = 20.0 + 5.0;
+        if (regionMatches(item, 0, query)) {
+            score += 500.0;
+        }
+        if (contains) {
+            score += 300.0;
+        }
+        boolean httpMethod = httpMethodMatches(item, query);
+        if (httpMethod) {
+            score += 100.0;
+        }
+
+        double lengthPenalty = Math.max(0, (item.length - query.length) * 0.1);
+        double upperBound = score + 50.0 + (contains ? 30.0 : 0.0) - lengthPenalty;
+        if (upperBound <= threshold) {
+            return Math.max(1.0, upperBound);
+        }
+
+        score += consecutiveRatio(item, query) * 50.0;
+        // 某个路径段包含查询时整个条目必然包含查询
+        if (contains) {
+            score += pathSegmentRatio(item, query) * 30.0;
+        }
+        return Math.max(1.0, score - lengthPenalty);
+    }
+
+    private static double consecutiveRatio(char[] item, char[] query) {
+        int queryIndex = 0;
+        int consecutive = 0;
+        int maxConsecutive = 0;
+        for (int i = 0; i < item.length && queryIndex < query.length; i++) {
+            if (item[i] == query[queryIndex]) {
+                consecutive++;
+                queryIndex++;
+            } else {
+                maxConsecutive = Math.max(maxConsecutive, consecutive);
+                consecutive = 0;
+            }
+        }
+        maxConsecutive = Math.max(maxConsecutive, consecutive);
+        return (double) maxConsecutive / query.length;
+    }
+
+    private static double pathSegmentRatio(char[] item, char[] query) {
+        double maxRatio = 0.0;
+        int start = 0;
+        for (int i = 0; i <= item.length; i++) {
+            if (i == item.length || item[i] == '/') {
+                int length = i - start;
+                if (length >= query.length && indexOf(item, query, start, i) >= 0) {
+                    maxRatio = Math.max(maxRatio, (double) query.length / length);
+                }
+                start = i + 1;
+            }
+        }
+        return maxRatio;
+    }
+
+    private static boolean httpMethodMatches(char[] item, char[] query) {
+        for (char[] method : HTTP_METHODS) {
+            if (query.length <= method.length && regionMatches(method, 0, query)
+                    && indexOf(item, method, 0, item.length) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSubsequence(char[] query, char[] text) {
+        int queryIndex = 0;
+        for (int i = 0; i < text.length && queryIndex < query.length; i++) {
+            if (text[i] == query[queryIndex]) {
+                queryIndex++;
+            }
+        }
+        return queryIndex == query.length;
+    }
+
+    private static boolean regionMatches(char[] text, int offset, char[] pattern) {
+        if (offset + pattern.length > text.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (text[offset + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(char[] text, char[] pattern, int from, int to) {
+        for (int i = from; i + pattern.length <= to; i++) {
+            if (regionMatches(text, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 字符位图：字母和数字各占一位，常见的路径符号各占一位，其余字符按编码散列到剩余的位
+     */
+    static long mask(char[] text) {
+        long mask = 0;
+        for (char c : text) {
+            mask |= 1L << bit(c);
+        }
+        return mask;
+    }
+
+    private static int bit(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + (c - '0');
+        switch (c) {
+            case '/': return 36;
+            case '{': return 37;
+            case '}': return 38;
+            case '_': return 39;
+            case '-': return 40;
+            case '.': return 41;
+            case ' ': return 42;
+            default: return 43 + c % 21;
+        }
+    }
+
+    /**
+     * 预处理后的查询
+     */
+    public static final class Query {
+        private final String text;
+        private final char[] chars;
+        private final long mask;
+
+        public Query(@NotNull String query) {
+            this.text = query.toLowerCase().trim();
+            this.chars = text.toCharArray();
+            this.mask = FuzzySearchCorpus.mask(chars);
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isEmpty() {
+            return chars.length == 0;
+        }
+    }
+
+    /**
+     * 固定容量的最小堆，保存分数最高的K个条目
+     */
+    private static final class TopK {
+        private final int[] indices;
+        private final double[] scores;
+        private int size;
+
+        private TopK(int capacity) {
+            this.indices = new int[Math.max(capacity, 0)];
+            this.scores = new double[Math.max(capacity, 0)];
+        }
+
+        /**
+         * 堆已满时新条目需要超过的分数
+         */
+        private double threshold() {
+            return size < indices.length ? Double.NEGATIVE_INFINITY : scores[0];
+        }
+
+        private void offer(int index, double score) {
+            if (indices.length == 0) {
+                return;
+            }
+            if (size < indices.length) {
+                indices[size] = index;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (isBetter(score, index, scores[0], indices[0])) {
+                indices[0] = index;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * 分数相同时下标小的条目优先，保持原有顺序
+         */
+        private static boolean isBetter(double score, int index, double otherScore, int otherIndex) {
+            return score > otherScore || (score == otherScore && index < otherIndex);
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!isBetter(scores[parent], indices[parent], scores[position], indices[position])) {
+                    break;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int left = 2 * position + 1;
+                if (left >= size) {
+                    break;
+                }
+                int right = left + 1;
+                int worst = right < size && isBetter(scores[left], indices[left], scores[right], indices[right])
+                        ? right : left;
+                if (!isBetter(scores[position], indices[position], scores[worst], indices[worst])) {
+                    break;
+                }
+                swap(position, worst);
+                position = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int index = indices[a];
+            indices[a] = indices[b];
+            indices[b] = index;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+
+        private int[] toSortedIndices() {
+            int[] result = new int[size];
+            // 依次弹出最差的条目，从后往前填充
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = indices[0];
+                size--;
+                if (size > 0) {
+                    indices[0] = indices[size];
+                    scores[0] = scores[size];
+                    siftDown(0);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.devtoolkit.pro.search;
+
+import java.util.Arrays;
+
+/**
+ * 按升序追加的int列表，用作倒排表
+ */
+final class IntList {
+    int[] ids = new int[2];
+    int size;
+
+    /**
+     * 追加ID，与最后一个ID相同时忽略
+     */
+    void append(int id) {
+        if (size > 0 && ids[size - 1] == id) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+}
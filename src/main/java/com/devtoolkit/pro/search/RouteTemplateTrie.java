@@ -0,0 +1,296 @@
+package com.devtoolkit.pro.search;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 路由模板前缀树
+ * 按路径段组织模板，支持{var}、{var:regex}、*、**、{*var}以及FastAPI/Starlette的转换器（{id:int}、{param:path}等），
+ * 将具体URL（如/api/v1/orders/8812/items?page=2）解析为匹配的模板，耗时与路径长度成正比
+ */
+public final class RouteTemplateTrie<T> {
+
+    // Starlette路径转换器对应的正则，其余{var:xxx}按正则处理
+    private static final Map<String, String> STARLETTE_CONVERTERS = Map.of(
+            "str", "[^/]+",
+            "int", "[0-9]+",
+            "float", "[0-9]+(\\.[0-9]+)?",
+            "uuid", "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}",
+            "path", ".*"
+    );
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * 添加路由模板
+     * @param httpMethod HTTP方法，为null时匹配任何方法
+     */
+    public void add(@Nullable String httpMethod, @NotNull String template, @NotNull T value) {
+        Node<T> node = root;
+        for (String segment : splitTemplate(template)) {
+            node = node.child(segment);
+        }
+        node.values.add(new Entry<>(httpMethod, value));
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 解析具体URL，返回最具体的匹配模板上的值
+     * 字面段优先于正则段，正则段优先于变量段，多段通配符最后尝试；
+     * 完整路径没有匹配时依次去掉开头的段重试（URL中包含上下文路径等前缀）
+     * @param httpMethod 请求的HTTP方法，为null时不过滤
+     */
+    public @NotNull List<T> resolve(@Nullable String httpMethod, @NotNull String url) {
+        String[] segments = splitUrl(url);
+        for (int start = 0; start < segments.length || start == 0; start++) {
+            List<T> result = new ArrayList<>();
+            if (match(root, segments, start, httpMethod, result)) {
+                return result;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean match(Node<T> node, String[] segments, int index, String httpMethod, List<T> result) {
+        if (index == segments.length) {
+            if (collect(node, httpMethod, result)) {
+                return true;
+            }
+        } else {
+            String segment = segments[index];
+            Node<T> literal = node.literals != null ? node.literals.get(segment) : null;
+            if (literal != null && match(literal, segments, index + 1, httpMethod, result)) {
+                return true;
+            }
+            if (node.patterns != null) {
+                for (PatternChild<T> child : node.patterns) {
+                    if (child.pattern.matcher(segment).matches()
+                            && match(child.node, segments, index + 1, httpMethod, result)) {
+                        return true;
+                    }
+                }
+            }
+            if (node.variable != null && match(node.variable, segments, index + 1, httpMethod, result)) {
+                return true;
+            }
+        }
+
+        // 多段通配符可以匹配零个或多个段，优先匹配尽可能多的段
+        if (node.multiSegment != null) {
+            for (int next = segments.length; next >= index; next--) {
+                if (match(node.multiSegment, segments, next, httpMethod, result)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean collect(Node<T> node, String httpMethod, List<T> result) {
+        for (Entry<T> entry : node.values) {
+            if (httpMethod == null || entry.httpMethod == null || entry.httpMethod.equalsIgnoreCase(httpMethod)) {
+                result.add(entry.value);
+            }
+        }
+        return !result.isEmpty();
+    }
+
+    /**
+     * 拆分模板，忽略花括号内的"/"（如{var:[a-z/]+}）以及空段
+     */
+    static List<String> splitTemplate(String template) {
+        List<String> segments = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= template.length(); i++) {
+            char c = i < template.length() ? template.charAt(i) : '/';
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth = Math.max(depth - 1, 0);
+            } else if (c == '/' && depth == 0) {
+                if (i > start) {
+                    segments.add(template.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 从具体URL中提取路径段：去掉协议和主机、查询参数和片段
+     */
+    static String[] splitUrl(String url) {
+        String path = url.trim();
+        int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart >= 0 ? path.substring(pathStart) : "";
+        }
+        int queryStart = indexOfAny(path, '?', '#');
+        if (queryStart >= 0) {
+            path = path.substring(0, queryStart);
+        }
+
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static int indexOfAny(String text, char first, char second) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 模板段类型对应的正则，无法编译时返回null（按变量段处理）
+     */
+    private static Pattern toSegmentPattern(String segment) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i);
+            if (c == '{' && findClosingBrace(segment, i) > i) {
+                int end = findClosingBrace(segment, i);
+                String body = segment.substring(i + 1, end).trim();
+                int colon = body.indexOf(':');
+                if (colon >= 0) {
+                    String constraint = body.substring(colon + 1).trim();
+                    regex.append("(?:").append(STARLETTE_CONVERTERS.getOrDefault(constraint, constraint)).append(')');
+                } else {
+                    regex.append("[^/]+");
+                }
+                i = end + 1;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+                i++;
+            } else if (c == '?') {
+                regex.append("[^/]");
+                i++;
+            } else {
+                int end = i;
+                do end++; while (end < segment.length() && "{*?".indexOf(segment.charAt(end)) < 0);
+                regex.append(Pattern.quote(segment.substring(i, end)));
+                i = end;
+            }
+        }
+        try {
+            return Pattern.compile(regex.toString());
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static int findClosingBrace(String segment, int open) {
+        int depth = 0;
+        for (int i = open; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isMultiSegment(String segment) {
+        if (segment.equals("**") || (segment.startsWith("{*") && segment.endsWith("}"))) {
+            return true;
+        }
+        // FastAPI/Starlette的路径转换器{param:path}
+        return segment.startsWith("{") && segment.endsWith("}")
+                && segment.substring(1, segment.length() - 1).replace(" ", "").endsWith(":path");
+    }
+
+    private static boolean isVariableSegment(String segment) {
+        if (segment.equals("*")) {
+            return true;
+        }
+        return segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('{', 1) < 0
+                && segment.indexOf(':') < 0;
+    }
+
+    private static final class Node<T> {
+        private Map<String, Node<T>> literals;
+        private List<PatternChild<T>> patterns;
+        private Node<T> variable;
+        private Node<T> multiSegment;
+        private final List<Entry<T>> values = new ArrayList<>(1);
+
+        private Node<T> child(String segment) {
+            if (isMultiSegment(segment)) {
+                if (multiSegment == null) multiSegment = new Node<>();
+                return multiSegment;
+            }
+            if (isVariableSegment(segment)) {
+                if (variable == null) variable = new Node<>();
+                return variable;
+            }
+            if (segment.indexOf('{') < 0 && segment.indexOf('*') < 0 && segment.indexOf('?') < 0) {
+                if (literals == null) literals = new HashMap<>();
+                return literals.computeIfAbsent(segment, k -> new Node<>());
+            }
+
+            if (patterns == null) patterns = new ArrayList<>(1);
+            for (PatternChild<T> child : patterns) {
+                if (child.template.equals(segment)) {
+                    return child.node;
+                }
+            }
+            Pattern pattern = toSegmentPattern(segment);
+            if (pattern == null) {
+                if (variable == null) variable = new Node<>();
+                return variable;
+            }
+            PatternChild<T> child = new PatternChild<>(segment, pattern, new Node<>());
+            patterns.add(child);
+            return child.node;
+        }
+    }
+
+    private static final class PatternChild<T> {
+        private final String template;
+        private final Pattern pattern;
+        private final Node<T> node;
+
+        private PatternChild(String template, Pattern pattern, Node<T> node) {
+            this.template = template;
+            this.pattern = pattern;
+            this.node = node;
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String httpMethod;
+        private final T value;
+
+        private Entry(String httpMethod, T value) {
+            this.httpMethod = httpMethod;
+            this.value = value;
+        }
+    }
+}
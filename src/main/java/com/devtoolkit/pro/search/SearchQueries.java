@@ -0,0 +1,36 @@
+package com.devtoolkit.pro.search;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 搜索查询的公共预处理
+ */
+final class SearchQueries {
+
+    private static final Set<String> HTTP_METHODS = Set.of(
+        "get", "post", "put", "delete", "patch", "head", "options", "trace"
+    );
+
+    private SearchQueries() {
+    }
+
+    /**
+     * 去掉查询开头的HTTP方法和查询参数部分（保留大小写）
+     * 例如："GET /api/users?page=2" -> "/api/users"
+     */
+    static @NotNull String stripMethodAndQuery(@NotNull String query) {
+        String text = query.trim();
+        int queryStart = text.indexOf('?');
+        if (queryStart >= 0) {
+            text = text.substring(0, queryStart);
+        }
+        int space = text.indexOf(' ');
+        if (space > 0 && HTTP_METHODS.contains(text.substring(0, space).toLowerCase(Locale.ROOT))) {
+            text = text.substring(space + 1);
+        }
+        return text.trim();
+    }
+}
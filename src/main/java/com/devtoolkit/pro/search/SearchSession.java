@@ -0,0 +1,96 @@
+package com.devtoolkit.pro.search;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 边输入边搜索的会话
+ * 记录最近查询的匹配集合：新查询以某个已缓存的查询为前缀时，只在该查询的匹配集合中查找，
+ * 退格时回退到仍然缓存的较短前缀，没有可用前缀时才搜索全部条目。非线程安全
+ */
+public final class SearchSession<T> {
+
+    // 缓存的查询前缀数
+    private static final int MAX_CACHED_QUERIES = 16;
+
+    // 查询文本 -> 匹配条目下标（升序），按访问顺序淘汰
+    private final Map<String, int[]> matches = new LinkedHashMap<>(MAX_CACHED_QUERIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+    private FuzzySearchCorpus<?> corpus;
+    private int corpusModificationCount;
+
+    /**
+     * 在语料中搜索，按相关性返回最多limit个条目
+     */
+    public @NotNull List<T> search(@NotNull FuzzySearchCorpus<T> corpus, @Nullable String query, int limit) {
+        int[] indices = searchIndices(corpus, query, limit);
+        if (indices == null) {
+            return corpus.search(null, limit);
+        }
+
+        List<T> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(corpus.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * 在语料中搜索，按相关性降序返回最多limit个条目下标
+     * @return 查询为空时返回null，由调用方决定默认顺序
+     */
+    public @Nullable int[] searchIndices(@NotNull FuzzySearchCorpus<?> corpus, @Nullable String query, int limit) {
+        FuzzySearchCorpus.Query compiled = new FuzzySearchCorpus.Query(query != null ? query : "");
+        if (compiled.isEmpty()) {
+            return null;
+        }
+        return corpus.searchIndices(compiled, limit, matchingIndices(corpus, compiled));
+    }
+
+    /**
+     * 丢弃缓存的匹配集合
+     */
+    public void reset() {
+        matches.clear();
+        corpus = null;
+    }
+
+    private int[] matchingIndices(FuzzySearchCorpus<?> corpus, FuzzySearchCorpus.Query query) {
+        // 语料变化后下标含义改变，缓存全部失效
+        if (corpus != this.corpus || corpus.getModificationCount() != corpusModificationCount) {
+            matches.clear();
+            this.corpus = corpus;
+            this.corpusModificationCount = corpus.getModificationCount();
+        }
+
+        String text = query.getText();
+        int[] cached = matches.get(text);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 匹配要求查询是条目文本的子序列，较长查询的匹配集合必然包含在其前缀的匹配集合中
+        int[] base = null;
+        int baseLength = -1;
+        for (Map.Entry<String, int[]> entry : matches.entrySet()) {
+            String prefix = entry.getKey();
+            if (prefix.length() > baseLength && text.startsWith(prefix)) {
+                base = entry.getValue();
+                baseLength = prefix.length();
+            }
+        }
+
+        int[] result = corpus.matchingIndices(query, base);
+        matches.put(text, result);
+        return result;
+    }
+}
@@ -0,0 +1,158 @@
+package com.devtoolkit.pro.search;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 三元组倒排索引
+ * 每个三元组对应一个按文档ID升序排列的int数组，查询时对各三元组的倒排表求交集得到候选集；
+ * 文档ID必须递增分配，删除的文档先记为墓碑，数量过多时再统一从倒排表中清除
+ */
+final class TrigramIndex {
+
+    // 三元组键 -> 倒排表，键为基本类型int，不装箱
+    private final Int2ObjectOpenHashMap<IntList> postings = new Int2ObjectOpenHashMap<>();
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private int liveDocuments;
+
+    /**
+     * 添加文档，docId必须大于之前添加的所有文档ID
+     */
+    void add(int docId, char[] text) {
+        liveDocuments++;
+        for (int i = 0; i + 3 <= text.length; i++) {
+            int key = key(text[i], text[i + 1], text[i + 2]);
+            IntList list = postings.get(key);
+            if (list == null) {
+                list = new IntList();
+                postings.put(key, list);
+            }
+            list.append(docId);
+        }
+    }
+
+    /**
+     * 删除文档（记为墓碑）
+     */
+    void remove(int docId) {
+        if (removed.get(docId)) {
+            return;
+        }
+        removed.set(docId);
+        removedCount++;
+        liveDocuments--;
+        // 墓碑占比过高时清理倒排表
+        if (removedCount > 64 && removedCount > liveDocuments / 4) {
+            compact();
+        }
+    }
+
+    /**
+     * 包含查询全部三元组的文档ID（升序）
+     * @return 查询短于3个字符、无法用三元组过滤时返回null
+     */
+    @Nullable
+    int[] candidates(char[] query) {
+        if (query.length < 3) {
+            return null;
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length; i++) {
+            IntList list = postings.get(key(query[i], query[i + 1], query[i + 2]));
+            if (list == null) {
+                return new int[0];
+            }
+            if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        }
+        // 从最短的倒排表开始求交集
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        IntList first = lists.get(0);
+        int[] result = Arrays.copyOf(first.ids, first.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = intersect(result, size, lists.get(i));
+        }
+
+        // 去掉已删除的文档
+        int live = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.get(result[i])) {
+                result[live++] = result[i];
+            }
+        }
+        return live == result.length ? result : Arrays.copyOf(result, live);
+    }
+
+    /**
+     * 原地求交集，返回新的长度；较长的倒排表使用二分查找前进
+     */
+    private static int intersect(int[] current, int size, IntList other) {
+        int count = 0;
+        int position = 0;
+        for (int i = 0; i < size && position < other.size; i++) {
+            int id = current[i];
+            position = lowerBound(other.ids, position, other.size, id);
+            if (position < other.size && other.ids[position] == id) {
+                current[count++] = id;
+            }
+        }
+        return count;
+    }
+
+    private static int lowerBound(int[] ids, int from, int to, int id) {
+        // 先指数步进，再在区间内二分
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < to && ids[high] < id) {
+            low = high + 1;
+            high = Math.min(to, high + step);
+            step <<= 1;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void compact() {
+        postings.values().removeIf(list -> {
+            int size = 0;
+            for (int i = 0; i < list.size; i++) {
+                if (!removed.get(list.ids[i])) {
+                    list.ids[size++] = list.ids[i];
+                }
+            }
+            list.size = size;
+            return size == 0;
+        });
+        // 文档ID不会复用，墓碑位保留即可，只重置计数
+        removedCount = 0;
+    }
+
+    /**
+     * 三元组键：每个字符折叠为7位（非ASCII字符共用一个值），冲突只会放宽过滤条件
+     */
+    private static int key(char a, char b, char c) {
+        return (fold(a) << 14) | (fold(b) << 7) | fold(c);
+    }
+
+    private static int fold(char c) {
+        return c < 128 ? c : 127;
+    }
+}
@@ -0,0 +1,181 @@
+package com.devtoolkit.pro.search;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 容错路径匹配索引
+ * 对所有不同的路径段建立BK树，查询的每个路径段在编辑距离1~2内查找相近的路径段，
+ * 再通过路径段倒排表找到同时包含全部查询段的文档，按总编辑距离排序。
+ * 文档ID必须递增分配，删除的文档只记为墓碑。非线程安全
+ */
+public final class TypoTolerantIndex {
+
+    private final BkTree dictionary = new BkTree();
+    // 路径段 -> 包含该段的文档ID（升序）
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final BitSet removed = new BitSet();
+
+    /**
+     * 添加文档的路径，docId必须大于之前添加的所有文档ID
+     */
+    public void add(int docId, @Nullable String path) {
+        for (String segment : segments(path)) {
+            IntList list = postings.get(segment);
+            if (list == null) {
+                list = new IntList();
+                postings.put(segment, list);
+                dictionary.add(segment);
+            }
+            list.append(docId);
+        }
+    }
+
+    /**
+     * 删除文档（记为墓碑）
+     */
+    public void remove(int docId) {
+        removed.set(docId);
+    }
+
+    /**
+     * 容错搜索，按总编辑距离升序返回最多limit个文档ID，距离相同时ID小的在前
+     * 查询开头的HTTP方法和查询参数部分会被忽略
+     */
+    public int[] search(@NotNull String query, int limit) {
+        List<String> querySegments = segments(SearchQueries.stripMethodAndQuery(query));
+        if (querySegments.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        // 每个查询段在字典中的相近路径段
+        List<SegmentMatches> perSegment = new ArrayList<>(querySegments.size());
+        for (String querySegment : querySegments) {
+            SegmentMatches matches = new SegmentMatches();
+            dictionary.search(querySegment, maxDistance(querySegment),
+                    (term, distance) -> matches.add(postings.get(term), distance));
+            if (matches.documentCount == 0) {
+                return new int[0];
+            }
+            perSegment.add(matches);
+        }
+        // 以文档最少的查询段作为候选集，其余查询段只对候选文档做二分查找
+        perSegment.sort((a, b) -> Integer.compare(a.documentCount, b.documentCount));
+
+        Map<Integer, Integer> total = new HashMap<>();
+        SegmentMatches first = perSegment.get(0);
+        for (int m = 0; m < first.lists.size(); m++) {
+            IntList list = first.lists.get(m);
+            int distance = first.distances.get(m);
+            for (int i = 0; i < list.size; i++) {
+                total.merge(list.ids[i], distance, Math::min);
+            }
+        }
+        for (int s = 1; s < perSegment.size() && !total.isEmpty(); s++) {
+            SegmentMatches other = perSegment.get(s);
+            total.entrySet().removeIf(entry -> {
+                int distance = other.distanceOf(entry.getKey());
+                if (distance < 0) {
+                    return true;
+                }
+                entry.setValue(entry.getValue() + distance);
+                return false;
+            });
+        }
+
+        long[] ranked = new long[total.size()];
+        int size = 0;
+        for (Map.Entry<Integer, Integer> entry : total.entrySet()) {
+            if (!removed.get(entry.getKey())) {
+                // 高位为距离、低位为文档ID，排序后即为所需顺序
+                ranked[size++] = ((long) entry.getValue() << 32) | entry.getKey();
+            }
+        }
+        Arrays.sort(ranked, 0, size);
+
+        int[] result = new int[Math.min(size, limit)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    /**
+     * 允许的编辑距离：过短的路径段只做精确匹配，避免大量误匹配
+     */
+    static int maxDistance(String segment) {
+        int length = segment.length();
+        if (length <= 3) {
+            return 0;
+        }
+        // 相邻字符交换的编辑距离为2，从5个字符起允许两次编辑
+        return length == 4 ? 1 : 2;
+    }
+
+    /**
+     * 拆分路径段（小写），忽略路径变量
+     */
+    static List<String> segments(@Nullable String path) {
+        List<String> segments = new ArrayList<>();
+        if (path == null) {
+            return segments;
+        }
+        String lower = path.toLowerCase(Locale.ROOT);
+        int start = 0;
+        for (int i = 0; i <= lower.length(); i++) {
+            if (i == lower.length() || lower.charAt(i) == '/' || Character.isWhitespace(lower.charAt(i))) {
+                if (i > start) {
+                    String segment = lower.substring(start, i);
+                    if (!isVariable(segment) && !segments.contains(segment)) {
+                        segments.add(segment);
+                    }
+                }
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isVariable(String segment) {
+        char first = segment.charAt(0);
+        return first == '{' || first == ':' || first == '<' || first == '*';
+    }
+
+    /**
+     * 单个查询段匹配到的路径段倒排表及其编辑距离
+     */
+    private static final class SegmentMatches {
+        private final List<IntList> lists = new ArrayList<>();
+        private final List<Integer> distances = new ArrayList<>();
+        private int documentCount;
+
+        private void add(IntList list, int distance) {
+            lists.add(list);
+            distances.add(distance);
+            documentCount += list.size;
+        }
+
+        /**
+         * 文档中最接近的路径段的编辑距离，不包含任何相近路径段时返回-1
+         */
+        private int distanceOf(int docId) {
+            int best = -1;
+            for (int m = 0; m < lists.size(); m++) {
+                IntList list = lists.get(m);
+                int distance = distances.get(m);
+                if ((best < 0 || distance < best) && Arrays.binarySearch(list.ids, 0, list.size, docId) >= 0) {
+                    best = distance;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.devtoolkit.pro.services;
+
+import com.devtoolkit.pro.utils.OptionalPluginBridge;
+import com.intellij.lang.Language;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 常量表达式解析服务（项目级）
+ * 求值注解中的常量表达式，如 API.API_V1_PREFIX + "/fetch"，支持Java static final字段和Kotlin const val。
+ * 每个常量的值缓存在字段/属性上，Java或Kotlin代码修改后失效；RestfulUrlService、行标记和Inlay提示共用
+ */
+@Service(Service.Level.PROJECT)
+public final class ConstantResolver {
+
+    private static final Key<CachedValue<Object>> CONSTANT_VALUE_KEY = Key.create("devtoolkit.constantValue");
+    // 当前线程正在求值的常量，循环引用时返回null而不是无限递归
+    private static final ThreadLocal<Set<PsiElement>> EVALUATING = ThreadLocal.withInitial(HashSet::new);
+
+    private final Project project;
+
+    public ConstantResolver(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static ConstantResolver getInstance(@NotNull Project project) {
+        return project.getService(ConstantResolver.class);
+    }
+
+    /**
+     * 求值Java或Kotlin常量表达式，数组初始化取第一个元素，无法求值时返回null
+     */
+    public @Nullable Object evaluate(@Nullable PsiElement expression) {
+        if (expression instanceof PsiArrayInitializerMemberValue) {
+            PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) expression).getInitializers();
+            return initializers.length > 0 ? evaluate(initializers[0]) : null;
+        }
+        if (expression instanceof PsiExpression) {
+            return evaluateJava((PsiExpression) expression);
+        }
+        if (expression != null && expression.getClass().getSimpleName().startsWith("Kt")) {
+            return evaluateKotlin(expression);
+        }
+        return null;
+    }
+
+    /**
+     * 求值常量表达式并转为字符串，无法求值时返回null
+     */
+    public @Nullable String evaluateString(@Nullable PsiElement expression) {
+        Object value = evaluate(expression);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * 常量字段（Java static final字段或Kotlin val属性）的值，结果缓存在字段上
+     */
+    public @Nullable Object getConstantValue(@NotNull PsiElement constant) {
+        return CachedValuesManager.getCachedValue(constant, CONSTANT_VALUE_KEY, () -> CachedValueProvider.Result.create(
+            computeConstantValue(constant),
+            PsiModificationTracker.getInstance(project).forLanguages(ConstantResolver::isJvmLanguage)
+        ));
+    }
+
+    private static boolean isJvmLanguage(@NotNull Language language) {
+        return language.isKindOf(JavaLanguage.INSTANCE) || "kotlin".equals(language.getID());
+    }
+
+    private @Nullable Object computeConstantValue(@NotNull PsiElement constant) {
+        Set<PsiElement> evaluating = EVALUATING.get();
+        if (!evaluating.add(constant)) {
+            return null;
+        }
+        try {
+            if (constant instanceof PsiField) {
+                PsiField field = (PsiField) constant;
+                if (!field.hasModifierProperty(PsiModifier.STATIC) || !field.hasModifierProperty(PsiModifier.FINAL)) {
+                    return null;
+                }
+                Object value = evaluate(field.getInitializer());
+                if (value == null) {
+                    // 编译后的类和Kotlin light字段没有可用的初始化表达式
+                    value = field.computeConstantValue();
+                }
+                if (value == null) {
+                    PsiElement source = field.getNavigationElement();
+                    if (source != field && isKotlinProperty(source)) {
+                        value = getConstantValue(source);
+                    }
+                }
+                return value;
+            }
+            if (isKotlinProperty(constant) && !Boolean.TRUE.equals(OptionalPluginBridge.invoke(constant, "isVar"))) {
+                Object initializer = OptionalPluginBridge.invoke(constant, "getInitializer");
+                return initializer instanceof PsiElement ? evaluateKotlin((PsiElement) initializer) : null;
+            }
+            return null;
+        } finally {
+            evaluating.remove(constant);
+        }
+    }
+
+    private @Nullable Object evaluateJava(@NotNull PsiExpression expression) {
+        if (expression instanceof PsiLiteralExpression) {
+            return ((PsiLiteralExpression) expression).getValue();
+        }
+        if (expression instanceof PsiParenthesizedExpression) {
+            return evaluate(((PsiParenthesizedExpression) expression).getExpression());
+        }
+        if (expression instanceof PsiPolyadicExpression
+                && ((PsiPolyadicExpression) expression).getOperationTokenType() == JavaTokenType.PLUS) {
+            // 按Java语义从左到右求值（二元表达式也是PsiPolyadicExpression）：
+            // 出现第一个字符串之前的数值按算术相加，之后全部按字符串拼接，如 1 + 2 + "a" 为 "3a"
+            Object result = null;
+            for (PsiExpression operand : ((PsiPolyadicExpression) expression).getOperands()) {
+                Object value = evaluate(operand);
+                result = value == null ? null : result == null ? value : plus(result, value);
+                if (result == null) {
+                    return null;
+                }
+            }
+            return result;
+        }
+        if (expression instanceof PsiReferenceExpression) {
+            PsiReferenceExpression reference = (PsiReferenceExpression) expression;
+            PsiElement resolved = reference.resolve();
+            if (resolved == null) {
+                resolved = findUnresolvedConstant(reference);
+            }
+            return resolved instanceof PsiField || isKotlinProperty(resolved) ? getConstantValue(resolved) : null;
+        }
+        return JavaPsiFacade.getInstance(project).getConstantEvaluationHelper().computeConstantExpression(expression, false);
+    }
+
+    /**
+     * Java的 + 运算：任一操作数为字符串时拼接，否则按二元数值提升相加，不支持的操作数返回null
+     */
+    private static @Nullable Object plus(@NotNull Object left, @NotNull Object right) {
+        if (left instanceof String || right instanceof String) {
+            return String.valueOf(left) + right;
+        }
+        Number a = toNumber(left);
+        Number b = toNumber(right);
+        if (a == null || b == null) {
+            return null;
+        }
+        if (a instanceof Double || b instanceof Double) {
+            return a.doubleValue() + b.doubleValue();
+        }
+        if (a instanceof Float || b instanceof Float) {
+            return a.floatValue() + b.floatValue();
+        }
+        if (a instanceof Long || b instanceof Long) {
+            return a.longValue() + b.longValue();
+        }
+        return a.intValue() + b.intValue();
+    }
+
+    private static @Nullable Number toNumber(@NotNull Object value) {
+        if (value instanceof Character) {
+            return (int) (Character) value;
+        }
+        return value instanceof Number ? (Number) value : null;
+    }
+
+    /**
+     * 标准解析失败的 Class.CONSTANT 引用（如依赖未加入模块的第三方jar包），
+     * 通过文件的import、同包类或短类名索引查找类，再查找其中的常量字段
+     */
+    private @Nullable PsiField findUnresolvedConstant(@NotNull PsiReferenceExpression reference) {
+        String fieldName = reference.getReferenceName();
+        PsiExpression qualifier = reference.getQualifierExpression();
+        if (fieldName == null || !(qualifier instanceof PsiReferenceExpression)) {
+            return null;
+        }
+        String className = ((PsiReferenceExpression) qualifier).getReferenceName();
+        if (className == null) {
+            return null;
+        }
+
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        PsiFile file = reference.getContainingFile();
+        if (file instanceof PsiJavaFile) {
+            PsiJavaFile javaFile = (PsiJavaFile) file;
+            PsiImportList importList = javaFile.getImportList();
+            if (importList != null) {
+                for (PsiImportStatement importStatement : importList.getImportStatements()) {
+                    String importedName = importStatement.getQualifiedName();
+                    if (importedName == null) {
+                        continue;
+                    }
+                    String candidate = importStatement.isOnDemand() ? importedName + "." + className
+                            : importedName.endsWith("." + className) ? importedName : null;
+                    PsiField field = candidate != null ? findConstantField(facade.findClass(candidate, scope), fieldName) : null;
+                    if (field != null) {
+                        return field;
+                    }
+                }
+            }
+            String packageName = javaFile.getPackageName();
+            String samePackage = packageName.isEmpty() ? className : packageName + "." + className;
+            PsiField field = findConstantField(facade.findClass(samePackage, scope), fieldName);
+            if (field != null) {
+                return field;
+            }
+        }
+
+        for (PsiClass psiClass : PsiShortNamesCache.getInstance(project).getClassesByName(className, scope)) {
+            PsiField field = findConstantField(psiClass, fieldName);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable PsiField findConstantField(@Nullable PsiClass psiClass, @NotNull String fieldName) {
+        if (psiClass == null) {
+            return null;
+        }
+        PsiField field = psiClass.findFieldByName(fieldName, true);
+        return field != null && field.hasModifierProperty(PsiModifier.STATIC)
+                && field.hasModifierProperty(PsiModifier.FINAL) ? field : null;
+    }
+
+    /**
+     * 求值Kotlin表达式：字符串模板、括号、+ 拼接以及常量引用
+     * Kotlin是可选依赖，PSI通过OptionalPluginBridge访问
+     */
+    private @Nullable Object evaluateKotlin(@NotNull PsiElement expression) {
+        switch (expression.getClass().getSimpleName()) {
+            case "KtStringTemplateExpression": {
+                Object entries = OptionalPluginBridge.invoke(expression, "getEntries");
+                if (!(entries instanceof Object[])) {
+                    return null;
+                }
+                StringBuilder result = new StringBuilder();
+                for (Object entry : (Object[]) entries) {
+                    String value = evaluateKotlinTemplateEntry((PsiElement) entry);
+                    if (value == null) {
+                        return null;
+                    }
+                    result.append(value);
+                }
+                return result.toString();
+            }
+            case "KtParenthesizedExpression": {
+                Object inner = OptionalPluginBridge.invoke(expression, "getExpression");
+                return inner instanceof PsiElement ? evaluateKotlin((PsiElement) inner) : null;
+            }
+            case "KtBinaryExpression": {
+                Object operation = OptionalPluginBridge.invoke(expression, "getOperationReference");
+                Object left = OptionalPluginBridge.invoke(expression, "getLeft");
+                Object right = OptionalPluginBridge.invoke(expression, "getRight");
+                if (!(operation instanceof PsiElement) || !"+".equals(((PsiElement) operation).getText())
+                        || !(left instanceof PsiElement) || !(right instanceof PsiElement)) {
+                    return null;
+                }
+                Object leftValue = evaluateKotlin((PsiElement) left);
+                Object rightValue = leftValue != null ? evaluateKotlin((PsiElement) right) : null;
+                return leftValue instanceof String && rightValue != null ? leftValue.toString() + rightValue : null;
+            }
+            case "KtDotQualifiedExpression": {
+                Object selector = OptionalPluginBridge.invoke(expression, "getSelectorExpression");
+                return selector instanceof PsiElement ? evaluateKotlinReference((PsiElement) selector) : null;
+            }
+            case "KtNameReferenceExpression":
+                return evaluateKotlinReference(expression);
+            default:
+                return null;
+        }
+    }
+
+    private @Nullable String evaluateKotlinTemplateEntry(@NotNull PsiElement entry) {
+        switch (entry.getClass().getSimpleName()) {
+            case "KtLiteralStringTemplateEntry":
+                return entry.getText();
+            case "KtEscapeStringTemplateEntry": {
+                Object value = OptionalPluginBridge.invoke(entry, "getUnescapedValue");
+                return value != null ? value.toString() : null;
+            }
+            case "KtSimpleNameStringTemplateEntry":
+            case "KtBlockStringTemplateEntry": {
+                Object inner = OptionalPluginBridge.invoke(entry, "getExpression");
+                Object value = inner instanceof PsiElement ? evaluateKotlin((PsiElement) inner) : null;
+                return value != null ? value.toString() : null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private @Nullable Object evaluateKotlinReference(@NotNull PsiElement reference) {
+        for (PsiReference psiReference : reference.getReferences()) {
+            PsiElement resolved = psiReference.resolve();
+            if (resolved instanceof PsiField || isKotlinProperty(resolved)) {
+                return getConstantValue(resolved);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isKotlinProperty(@Nullable PsiElement element) {
+        return element != null && "KtProperty".equals(element.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,54 @@
+package com.devtoolkit.pro.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 端点字符串字典
+ * 将路径段、类名、方法名等重复出现的字符串编码为int ID，同一目录中的所有EndpointStore共享；
+ * 编码加锁，条目只追加不修改，解码不加锁
+ */
+public final class EndpointDictionary {
+
+    /** null字符串对应的ID */
+    public static final int NULL_ID = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    // 扩容时先复制再发布新数组，已分配的ID在任何线程看到的数组中都有值
+    private volatile String[] values = new String[16];
+    private volatile int size;
+
+    /**
+     * 获取字符串的ID，不存在时分配新ID
+     */
+    public synchronized int encode(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = size;
+            String[] current = values;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, id * 2);
+            }
+            current[id] = value;
+            values = current;
+            ids.put(value, id);
+            size = id + 1;
+        }
+        return id;
+    }
+
+    /**
+     * 根据ID获取字符串
+     */
+    public String decode(int id) {
+        return id == NULL_ID ? null : values[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
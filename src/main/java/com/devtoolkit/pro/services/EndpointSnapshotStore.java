@@ -0,0 +1,294 @@
+package com.devtoolkit.pro.services;
+
+import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * 端点目录磁盘快照
+ * 保存在系统目录 devtoolkit-pro/&lt;项目位置哈希&gt;/endpoints.bin 下，按文件记录时间戳、长度和内容哈希，
+ * 重新打开项目时可直接加载，再由目录服务在后台校验
+ */
+final class EndpointSnapshotStore {
+
+    private static final Logger LOG = Logger.getInstance(EndpointSnapshotStore.class);
+    private static final int VERSION = 1;
+    private static final String DIRECTORY_NAME = "devtoolkit-pro";
+    private static final String FILE_NAME = "endpoints.bin";
+    // 无法读取内容时的哈希（CRC32的值不会为负）
+    static final long UNKNOWN_HASH = -1;
+
+    private final Project project;
+    private final Path storePath;
+
+    EndpointSnapshotStore(Project project) {
+        this.project = project;
+        this.storePath = Paths.get(PathManager.getSystemPath(), DIRECTORY_NAME, project.getLocationHash(), FILE_NAME);
+    }
+
+    /**
+     * 加载快照，文件不存在、版本不匹配或损坏时返回null
+     */
+    @Nullable
+    Data load() {
+        if (!Files.isRegularFile(storePath)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(storePath)))) {
+            if (DataInputOutputUtil.readINT(in) != VERSION) {
+                return null;
+            }
+
+            String[] strings = new String[DataInputOutputUtil.readINT(in)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = IOUtil.readUTF(in);
+            }
+
+            VirtualFileManager fileManager = VirtualFileManager.getInstance();
+            List<FileEntry> files = new ArrayList<>();
+            int fileCount = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < fileCount; i++) {
+                VirtualFile file = fileManager.findFileByUrl(strings[DataInputOutputUtil.readINT(in)]);
+                long timeStamp = DataInputOutputUtil.readLONG(in);
+                long length = DataInputOutputUtil.readLONG(in);
+                long contentHash = DataInputOutputUtil.readLONG(in);
+                List<RestfulEndpointNavigationItem> endpoints = readEndpoints(in, strings, file);
+                // 已删除的文件直接丢弃，其余文件交给后台校验
+                if (file != null && file.isValid()) {
+                    files.add(new FileEntry(file, timeStamp, length, contentHash, endpoints));
+                }
+            }
+
+            List<RestfulEndpointNavigationItem> projectEndpoints = new ArrayList<>();
+            int projectCount = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < projectCount; i++) {
+                VirtualFile file = fileManager.findFileByUrl(strings[DataInputOutputUtil.readINT(in)]);
+                projectEndpoints.addAll(readEndpoints(in, strings, file));
+            }
+            return new Data(files, projectEndpoints);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to load endpoint snapshot", e);
+            return null;
+        }
+    }
+
+    /**
+     * 保存快照（需要在读操作中调用）；文件状态全部使用扫描或校验时记录的值，保存时不读取文件内容
+     */
+    void save(List<FileEntry> fileEntries, List<RestfulEndpointNavigationItem> projectEndpoints) {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            // 记录之后在磁盘上被修改的文件不写入，下次打开时作为新增候选文件重新扫描
+            List<FileEntry> files = new ArrayList<>();
+            for (FileEntry entry : fileEntries) {
+                if (entry.file.isValid() && entry.file.getTimeStamp() == entry.timeStamp
+                        && entry.file.getLength() == entry.length) {
+                    files.add(entry);
+                }
+            }
+
+            DataInputOutputUtil.writeINT(out, files.size());
+            for (FileEntry entry : files) {
+                DataInputOutputUtil.writeINT(out, strings.indexOf(entry.file.getUrl()));
+                DataInputOutputUtil.writeLONG(out, entry.timeStamp);
+                DataInputOutputUtil.writeLONG(out, entry.length);
+                DataInputOutputUtil.writeLONG(out, entry.contentHash);
+                writeEndpoints(out, strings, entry.endpoints);
+            }
+
+            // 项目级端点按所在文件分组
+            Map<String, List<RestfulEndpointNavigationItem>> byFile = new LinkedHashMap<>();
+            for (RestfulEndpointNavigationItem endpoint : projectEndpoints) {
+                VirtualFile file = endpoint.getFile();
+                byFile.computeIfAbsent(file != null ? file.getUrl() : "", k -> new ArrayList<>()).add(endpoint);
+            }
+            DataInputOutputUtil.writeINT(out, byFile.size());
+            for (Map.Entry<String, List<RestfulEndpointNavigationItem>> entry : byFile.entrySet()) {
+                DataInputOutputUtil.writeINT(out, strings.indexOf(entry.getKey()));
+                writeEndpoints(out, strings, entry.getValue());
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to serialize endpoint snapshot", e);
+            return;
+        }
+
+        try {
+            Files.createDirectories(storePath.getParent());
+            Path tempPath = storePath.resolveSibling(FILE_NAME + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                DataInputOutputUtil.writeINT(out, VERSION);
+                DataInputOutputUtil.writeINT(out, strings.size());
+                for (String value : strings.values()) {
+                    IOUtil.writeUTF(out, value);
+                }
+                body.writeTo(out);
+            }
+            Files.move(tempPath, storePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("Failed to save endpoint snapshot", e);
+        }
+    }
+
+    /**
+     * 文件内容是否与快照记录一致
+     * 时间戳和长度均未变化时直接认为一致，否则比较内容哈希（如切换分支后内容相同的文件）
+     */
+    static boolean isUpToDate(FileEntry entry) {
+        VirtualFile file = entry.file;
+        if (!file.isValid() || file.getLength() != entry.length) {
+            return false;
+        }
+        if (file.getTimeStamp() == entry.timeStamp) {
+            return true;
+        }
+        if (entry.contentHash == UNKNOWN_HASH) {
+            return false;
+        }
+        try {
+            return computeContentHash(file) == entry.contentHash;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long computeContentHash(VirtualFile file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(file.contentsToByteArray());
+        return crc.getValue();
+    }
+
+    /**
+     * 记录文件当前的时间戳、长度和内容哈希，在后台扫描文件时调用（此时文件内容通常已在VFS缓存中）
+     */
+    static FileState captureState(VirtualFile file) {
+        long contentHash;
+        try {
+            contentHash = computeContentHash(file);
+        } catch (IOException e) {
+            contentHash = UNKNOWN_HASH;
+        }
+        return new FileState(file.getTimeStamp(), file.getLength(), contentHash);
+    }
+
+    private void writeEndpoints(DataOutput out, StringTable strings,
+                                List<RestfulEndpointNavigationItem> endpoints) throws IOException {
+        List<RestfulEndpointNavigationItem> persistable = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        for (RestfulEndpointNavigationItem endpoint : endpoints) {
+            int offset = endpoint.getOffset();
+            if (offset >= 0) {
+                persistable.add(endpoint);
+                offsets.add(offset);
+            }
+        }
+
+        DataInputOutputUtil.writeINT(out, persistable.size());
+        for (int i = 0; i < persistable.size(); i++) {
+            RestfulEndpointNavigationItem endpoint = persistable.get(i);
+            DataInputOutputUtil.writeINT(out, strings.indexOf(endpoint.getHttpMethod()));
+            DataInputOutputUtil.writeINT(out, strings.indexOf(endpoint.getPath()));
+            DataInputOutputUtil.writeINT(out, strings.indexOf(endpoint.getClassName()));
+            DataInputOutputUtil.writeINT(out, strings.indexOf(endpoint.getMethodName()));
+            DataInputOutputUtil.writeINT(out, offsets.get(i));
+        }
+    }
+
+    private List<RestfulEndpointNavigationItem> readEndpoints(DataInput in, String[] strings,
+                                                              VirtualFile file) throws IOException {
+        int count = DataInputOutputUtil.readINT(in);
+        List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String httpMethod = strings[DataInputOutputUtil.readINT(in)];
+            String path = strings[DataInputOutputUtil.readINT(in)];
+            String className = strings[DataInputOutputUtil.readINT(in)];
+            String methodName = strings[DataInputOutputUtil.readINT(in)];
+            int offset = DataInputOutputUtil.readINT(in);
+            endpoints.add(new RestfulEndpointNavigationItem(httpMethod, path, className, methodName, file, offset, project));
+        }
+        return endpoints;
+    }
+
+    /**
+     * 快照内容
+     */
+    static final class Data {
+        final List<FileEntry> files;
+        final List<RestfulEndpointNavigationItem> projectEndpoints;
+
+        Data(List<FileEntry> files, List<RestfulEndpointNavigationItem> projectEndpoints) {
+            this.files = files;
+            this.projectEndpoints = projectEndpoints;
+        }
+    }
+
+    /**
+     * 扫描或校验时记录的文件状态，保存快照时写入
+     */
+    static final class FileState {
+        final long timeStamp;
+        final long length;
+        final long contentHash;
+
+        FileState(long timeStamp, long length, long contentHash) {
+            this.timeStamp = timeStamp;
+            this.length = length;
+            this.contentHash = contentHash;
+        }
+    }
+
+    /**
+     * 单个文件的快照条目
+     */
+    static final class FileEntry {
+        final VirtualFile file;
+        final long timeStamp;
+        final long length;
+        final long contentHash;
+        final List<RestfulEndpointNavigationItem> endpoints;
+
+        FileEntry(VirtualFile file, long timeStamp, long length, long contentHash,
+                  List<RestfulEndpointNavigationItem> endpoints) {
+            this.file = file;
+            this.timeStamp = timeStamp;
+            this.length = length;
+            this.contentHash = contentHash;
+            this.endpoints = endpoints;
+        }
+    }
+
+    /**
+     * 字符串表，重复的类名、HTTP方法等只写一次
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indices = new LinkedHashMap<>();
+
+        int indexOf(String value) {
+            return indices.computeIfAbsent(value != null ? value : "", k -> indices.size());
+        }
+
+        int size() {
+            return indices.size();
+        }
+
+        Collection<String> values() {
+            return indices.keySet();
+        }
+    }
+}
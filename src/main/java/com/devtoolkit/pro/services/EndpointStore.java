@@ -0,0 +1,357 @@
+package com.devtoolkit.pro.services;
+
+import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import com.intellij.openapi.vfs.newvfs.persistent.PersistentFS;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * 紧凑的端点存储
+ * 路径按"/"拆分为段，段、HTTP方法、类名和方法名经EndpointDictionary编码后保存在基本类型数组中，
+ * 导航目标保存为文件ID和偏移量；完整字符串和导航项只在显示时生成。构建完成后只读
+ */
+public final class EndpointStore {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Project project;
+    private final EndpointDictionary dictionary;
+
+    private int size;
+    private int[] httpMethodIds;
+    private int[] classNameIds;
+    private int[] methodNameIds;
+    private int[] fileIds;
+    private int[] offsets;
+    // 第i个端点的路径段为pathSegmentIds[pathStarts[i], pathStarts[i + 1])
+    private int[] pathStarts;
+    private int[] pathSegmentIds;
+    private int segmentCount;
+
+    public EndpointStore(@NotNull Project project, @NotNull EndpointDictionary dictionary, int expectedSize) {
+        this.project = project;
+        this.dictionary = dictionary;
+        int capacity = Math.max(expectedSize, 1);
+        this.httpMethodIds = new int[capacity];
+        this.classNameIds = new int[capacity];
+        this.methodNameIds = new int[capacity];
+        this.fileIds = new int[capacity];
+        this.offsets = new int[capacity];
+        this.pathStarts = new int[capacity + 1];
+        this.pathSegmentIds = new int[capacity * 4];
+    }
+
+    /**
+     * 编码一组端点
+     */
+    public static EndpointStore of(@NotNull Project project, @NotNull EndpointDictionary dictionary,
+                                   @NotNull Collection<RestfulEndpointNavigationItem> endpoints) {
+        EndpointStore store = new EndpointStore(project, dictionary, endpoints.size());
+        for (RestfulEndpointNavigationItem endpoint : endpoints) {
+            store.add(endpoint);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * 追加一个端点
+     */
+    public void add(@NotNull RestfulEndpointNavigationItem endpoint) {
+        ensureCapacity();
+        httpMethodIds[size] = dictionary.encode(endpoint.getHttpMethod());
+        classNameIds[size] = dictionary.encode(endpoint.getClassName());
+        methodNameIds[size] = dictionary.encode(endpoint.getMethodName());
+        VirtualFile file = endpoint.getFile();
+        fileIds[size] = file instanceof VirtualFileWithId ? ((VirtualFileWithId) file).getId() : 0;
+        offsets[size] = endpoint.getOffset();
+
+        String path = endpoint.getPath();
+        if (path == null) {
+            // 用单个NULL_ID段表示null路径
+            appendSegment(EndpointDictionary.NULL_ID);
+        } else {
+            int start = 0;
+            while (true) {
+                int slash = path.indexOf('/', start);
+                appendSegment(dictionary.encode(path.substring(start, slash < 0 ? path.length() : slash)));
+                if (slash < 0) {
+                    break;
+                }
+                start = slash + 1;
+            }
+        }
+        size++;
+        pathStarts[size] = segmentCount;
+    }
+
+    /**
+     * 追加source中的第index个端点，使用同一字典时直接复制ID，否则按字符串重新编码
+     */
+    public void add(@NotNull EndpointStore source, int index) {
+        ensureCapacity();
+        boolean sameDictionary = source.dictionary == dictionary;
+        httpMethodIds[size] = sameDictionary ? source.httpMethodIds[index] : dictionary.encode(source.getHttpMethod(index));
+        classNameIds[size] = sameDictionary ? source.classNameIds[index] : dictionary.encode(source.getClassName(index));
+        methodNameIds[size] = sameDictionary ? source.methodNameIds[index] : dictionary.encode(source.getMethodName(index));
+        fileIds[size] = source.fileIds[index];
+        offsets[size] = source.offsets[index];
+        for (int i = source.pathStarts[index]; i < source.pathStarts[index + 1]; i++) {
+            int id = source.pathSegmentIds[i];
+            appendSegment(sameDictionary || id == EndpointDictionary.NULL_ID ? id : dictionary.encode(source.dictionary.decode(id)));
+        }
+        size++;
+        pathStarts[size] = segmentCount;
+    }
+
+    /**
+     * 用另一个字典重新编码全部端点
+     */
+    public @NotNull EndpointStore reencode(@NotNull EndpointDictionary target) {
+        EndpointStore store = new EndpointStore(project, target, size);
+        for (int i = 0; i < size; i++) {
+            store.add(this, i);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * 把引用的全部字典ID记入used
+     */
+    public void collectIds(@NotNull BitSet used) {
+        for (int i = 0; i < size; i++) {
+            setId(used, httpMethodIds[i]);
+            setId(used, classNameIds[i]);
+            setId(used, methodNameIds[i]);
+        }
+        for (int i = 0; i < segmentCount; i++) {
+            setId(used, pathSegmentIds[i]);
+        }
+    }
+
+    /**
+     * 释放数组中未使用的容量
+     */
+    public void trimToSize() {
+        httpMethodIds = Arrays.copyOf(httpMethodIds, size);
+        classNameIds = Arrays.copyOf(classNameIds, size);
+        methodNameIds = Arrays.copyOf(methodNameIds, size);
+        fileIds = Arrays.copyOf(fileIds, size);
+        offsets = Arrays.copyOf(offsets, size);
+        pathStarts = Arrays.copyOf(pathStarts, size + 1);
+        pathSegmentIds = segmentCount == 0 ? EMPTY : Arrays.copyOf(pathSegmentIds, segmentCount);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getHttpMethod(int index) {
+        return dictionary.decode(httpMethodIds[index]);
+    }
+
+    public String getClassName(int index) {
+        return dictionary.decode(classNameIds[index]);
+    }
+
+    public String getMethodName(int index) {
+        return dictionary.decode(methodNameIds[index]);
+    }
+
+    public String getPath(int index) {
+        if (isNullPath(index)) {
+            return null;
+        }
+        int start = pathStarts[index];
+        int end = pathStarts[index + 1];
+        StringBuilder path = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                path.append('/');
+            }
+            path.append(dictionary.decode(pathSegmentIds[i]));
+        }
+        return path.toString();
+    }
+
+    public VirtualFile getFile(int index) {
+        return fileIds[index] > 0 ? PersistentFS.getInstance().findFileById(fileIds[index]) : null;
+    }
+
+    public int getOffset(int index) {
+        return offsets[index];
+    }
+
+    public @NotNull EndpointDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * 第index个端点的结构哈希（HTTP方法、路径、类名和方法名），同一字典下与rowEquals一致
+     */
+    public int rowHashCode(int index) {
+        int hash = httpMethodIds[index];
+        hash = 31 * hash + classNameIds[index];
+        hash = 31 * hash + methodNameIds[index];
+        for (int i = pathStarts[index]; i < pathStarts[index + 1]; i++) {
+            hash = 31 * hash + pathSegmentIds[i];
+        }
+        return hash;
+    }
+
+    /**
+     * 第index个端点按字符串计算的结构哈希，与字典无关，不同字典的存储之间同样与rowEquals一致
+     */
+    public int rowValueHashCode(int index) {
+        int hash = Objects.hashCode(getHttpMethod(index));
+        hash = 31 * hash + Objects.hashCode(getClassName(index));
+        hash = 31 * hash + Objects.hashCode(getMethodName(index));
+        for (int i = pathStarts[index]; i < pathStarts[index + 1]; i++) {
+            hash = 31 * hash + Objects.hashCode(dictionary.decode(pathSegmentIds[i]));
+        }
+        return hash;
+    }
+
+    /**
+     * 第index个端点与other中第otherIndex个端点是否相等，使用同一字典时只比较ID
+     */
+    public boolean rowEquals(int index, @NotNull EndpointStore other, int otherIndex) {
+        if (dictionary != other.dictionary) {
+            return Objects.equals(getHttpMethod(index), other.getHttpMethod(otherIndex))
+                    && Objects.equals(getPath(index), other.getPath(otherIndex))
+                    && Objects.equals(getClassName(index), other.getClassName(otherIndex))
+                    && Objects.equals(getMethodName(index), other.getMethodName(otherIndex));
+        }
+        if (httpMethodIds[index] != other.httpMethodIds[otherIndex]
+                || classNameIds[index] != other.classNameIds[otherIndex]
+                || methodNameIds[index] != other.methodNameIds[otherIndex]) {
+            return false;
+        }
+        int start = pathStarts[index];
+        int length = pathStarts[index + 1] - start;
+        int otherStart = other.pathStarts[otherIndex];
+        if (length != other.pathStarts[otherIndex + 1] - otherStart) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (pathSegmentIds[start + i] != other.pathSegmentIds[otherStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按完整路径字符串的顺序比较第index个端点与other中第otherIndex个端点的路径（null路径在前），
+     * 逐段比较字典中的字符串，不拼接路径
+     */
+    public int comparePaths(int index, @NotNull EndpointStore other, int otherIndex) {
+        boolean nullPath = isNullPath(index);
+        boolean otherNullPath = other.isNullPath(otherIndex);
+        if (nullPath || otherNullPath) {
+            return Boolean.compare(!nullPath, !otherNullPath);
+        }
+
+        int i = pathStarts[index];
+        int end = pathStarts[index + 1];
+        int j = other.pathStarts[otherIndex];
+        int otherEnd = other.pathStarts[otherIndex + 1];
+        boolean sameDictionary = dictionary == other.dictionary;
+        for (; i < end && j < otherEnd; i++, j++) {
+            if (sameDictionary && pathSegmentIds[i] == other.pathSegmentIds[j]) {
+                continue;
+            }
+            String segment = dictionary.decode(pathSegmentIds[i]);
+            String otherSegment = other.dictionary.decode(other.pathSegmentIds[j]);
+            int common = Math.min(segment.length(), otherSegment.length());
+            for (int k = 0; k < common; k++) {
+                if (segment.charAt(k) != otherSegment.charAt(k)) {
+                    return segment.charAt(k) - otherSegment.charAt(k);
+                }
+            }
+            // 一段是另一段的前缀时，较短的一段之后是'/'或路径结束
+            if (segment.length() < otherSegment.length()) {
+                return i + 1 < end ? '/' - otherSegment.charAt(common) : -1;
+            }
+            if (segment.length() > otherSegment.length()) {
+                return j + 1 < otherEnd ? segment.charAt(common) - '/' : 1;
+            }
+        }
+        return Integer.compare(end - i, otherEnd - j);
+    }
+
+    /**
+     * 生成第index个端点的导航项
+     */
+    public RestfulEndpointNavigationItem get(int index) {
+        return new RestfulEndpointNavigationItem(getHttpMethod(index), getPath(index), getClassName(index),
+                getMethodName(index), getFile(index), getOffset(index), project);
+    }
+
+    /**
+     * 只读列表视图，访问元素时才生成导航项
+     */
+    public List<RestfulEndpointNavigationItem> asList() {
+        return new EndpointListView();
+    }
+
+    private void ensureCapacity() {
+        if (size == httpMethodIds.length) {
+            int capacity = size * 2;
+            httpMethodIds = Arrays.copyOf(httpMethodIds, capacity);
+            classNameIds = Arrays.copyOf(classNameIds, capacity);
+            methodNameIds = Arrays.copyOf(methodNameIds, capacity);
+            fileIds = Arrays.copyOf(fileIds, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            pathStarts = Arrays.copyOf(pathStarts, capacity + 1);
+        }
+    }
+
+    private boolean isNullPath(int index) {
+        int start = pathStarts[index];
+        return pathStarts[index + 1] - start == 1 && pathSegmentIds[start] == EndpointDictionary.NULL_ID;
+    }
+
+    private static void setId(BitSet used, int id) {
+        if (id != EndpointDictionary.NULL_ID) {
+            used.set(id);
+        }
+    }
+
+    private void appendSegment(int id) {
+        if (segmentCount == pathSegmentIds.length) {
+            pathSegmentIds = Arrays.copyOf(pathSegmentIds, Math.max(segmentCount * 2, 8));
+        }
+        pathSegmentIds[segmentCount++] = id;
+    }
+
+    private final class EndpointListView extends AbstractList<RestfulEndpointNavigationItem> implements RandomAccess {
+        @Override
+        public RestfulEndpointNavigationItem get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return EndpointStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,1053 @@
+package com.devtoolkit.pro.services;
+
+import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.devtoolkit.pro.search.EndpointSearchIndex;
+import com.devtoolkit.pro.search.RouteTemplateTrie;
+import com.devtoolkit.pro.strategies.RestfulEndpointScanStrategy;
+import com.devtoolkit.pro.strategies.RestfulEndpointStrategyManager;
+import com.intellij.lang.Language;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.Processor;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * RESTful端点目录服务（项目级）
+ * 持有唯一的RestfulUrlService/策略管理器实例，并按文件缓存端点扫描结果，
+ * 通过PSI/VFS监听只重新扫描发生变化的文件，所有搜索入口共享同一份快照；
+ * 关闭项目时将目录写入磁盘快照，下次打开时先加载快照再在后台校验
+ */
+@Service(Service.Level.PROJECT)
+public final class RestfulEndpointCatalogService implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(RestfulEndpointCatalogService.class);
+
+    // 从磁盘快照恢复、尚未校验的文件使用该修改戳，任何实际扫描都会覆盖它
+    private static final long UNVERIFIED_STAMP = -1;
+    // 字典条目数达到该值后才检查未使用的条目
+    private static final int MIN_DICTIONARY_CHECK_SIZE = 4096;
+
+    private final Project project;
+    private final RestfulUrlService urlService;
+    private final EndpointSnapshotStore snapshotStore;
+    private final EndpointSearchIndex searchIndex = new EndpointSearchIndex();
+
+    // 按文件缓存的端点（仅支持增量扫描的策略）
+    private final Map<VirtualFile, FileEndpoints> fileEndpoints = new ConcurrentHashMap<>();
+    // 等待重新扫描的文件
+    private final Set<VirtualFile> dirtyFiles = ConcurrentHashMap.newKeySet();
+    // 任何影响目录的变化都会递增该计数
+    private final SimpleModificationTracker modificationTracker = new SimpleModificationTracker();
+    // 端点路径可能引用其他JVM文件中的常量，该计数变化后按文件缓存需要重新扫描
+    private final ModificationTracker jvmModificationTracker;
+    private final Object lock = new Object();
+
+    private final AtomicBoolean fullRescanNeeded = new AtomicBoolean(true);
+    private volatile boolean projectScanDirty = true;
+    // 上一次项目级扫描时项目级策略的候选文件（有路由信息的文件），尚未扫描时为null
+    private volatile Set<VirtualFile> projectScanFiles;
+    private volatile List<RestfulEndpointScanStrategy> fileScanStrategies = Collections.emptyList();
+    private volatile List<RestfulEndpointScanStrategy> projectScanStrategies = Collections.emptyList();
+    // 缓存的端点以字典编码形式保存，完整重扫时换用新字典，增量更新中未使用的条目过多时压缩字典
+    private volatile EndpointDictionary dictionary = new EndpointDictionary();
+    private volatile EndpointStore projectEndpoints;
+    // 只在持有lock时读写
+    private int dictionaryCheckSize = MIN_DICTIONARY_CHECK_SIZE;
+    private volatile Snapshot snapshot;
+    private volatile boolean restoreAttempted;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private volatile RouteIndex routeIndex;
+    // 流式完整扫描的候选文件列表，全部扫描完成前不为null，中断后的调用据此继续流式推送
+    private volatile List<VirtualFile> streamCandidates;
+
+    public RestfulEndpointCatalogService(@NotNull Project project) {
+        this.project = project;
+        this.urlService = new RestfulUrlService(project);
+        this.snapshotStore = new EndpointSnapshotStore(project);
+        this.jvmModificationTracker = PsiModificationTracker.getInstance(project)
+                .forLanguages(RestfulEndpointCatalogService::isJvmLanguage);
+        this.projectEndpoints = encode(Collections.emptyList());
+        installListeners();
+    }
+
+    public static RestfulEndpointCatalogService getInstance(@NotNull Project project) {
+        return project.getService(RestfulEndpointCatalogService.class);
+    }
+
+    /**
+     * 获取当前端点目录快照（只读）
+     * 没有文件变化时直接返回缓存，有变化时只重新扫描脏文件；在EDT上调用时返回上一次的快照并在后台更新
+     */
+    public @NotNull List<RestfulEndpointNavigationItem> getEndpoints() {
+        Snapshot current = getSnapshot();
+        return current != null ? current.endpoints : Collections.<RestfulEndpointNavigationItem>emptyList();
+    }
+
+    /**
+     * 获取当前快照，尚无可用快照时返回null
+     */
+    private @Nullable Snapshot getSnapshot() {
+        if (project.isDisposed()) {
+            return null;
+        }
+
+        Snapshot current = snapshot;
+        if (current != null && current.modificationCount == modificationTracker.getModificationCount()) {
+            return current;
+        }
+
+        // EDT上不加载快照也不扫描，先返回上一次的快照（首次访问时为空），在后台更新
+        Application application = ApplicationManager.getApplication();
+        if (application.isDispatchThread()) {
+            scheduleRefresh();
+            return current;
+        }
+
+        // 首次访问时先尝试加载磁盘快照（不依赖索引，索引更新期间同样可用）
+        if (current == null && !restoreAttempted) {
+            Snapshot restored = restorePersistedSnapshot();
+            if (restored != null) {
+                return restored;
+            }
+        }
+
+        // 索引更新期间无法查询映射索引，先返回上一次的快照
+        if (DumbService.isDumb(project)) {
+            return current;
+        }
+
+        // 不在读操作中时，完整扫描在读操作之外并行执行（各分片使用可中断的非阻塞读操作）
+        if (!application.isReadAccessAllowed() && fullRescanNeeded.compareAndSet(true, false)) {
+            rescanAllInParallel(false);
+        }
+
+        // 先获取读锁再加锁，避免与写操作形成死锁
+        return ReadAction.compute(this::computeSnapshot);
+    }
+
+    /**
+     * 在后台线程更新快照，同一时间只安排一次
+     */
+    private void scheduleRefresh() {
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        AppExecutorUtil.getAppExecutorService().execute(() -> {
+            try {
+                if (!project.isDisposed()) {
+                    refresh(false);
+                }
+            } catch (ProcessCanceledException e) {
+                // 项目关闭或进入索引更新，下次访问时重新安排
+            } catch (RuntimeException e) {
+                LOG.warn("Background endpoint catalog refresh failed", e);
+            } finally {
+                refreshScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * 后台预热端点目录（必须在后台线程、读操作之外调用）
+     * 完整扫描只占用一个工作线程，项目级扫描和快照拼装在可被写操作打断并自动重启的非阻塞读操作中执行
+     * @return 预热后的端点数量
+     */
+    public int warmUp() {
+        ApplicationManager.getApplication().assertIsNonDispatchThread();
+        if (project.isDisposed()) {
+            return 0;
+        }
+        Snapshot computed = refresh(true);
+        return computed != null ? computed.endpoints.size() : 0;
+    }
+
+    /**
+     * 在后台线程、读操作之外加载磁盘快照并更新目录
+     * @param lowPriority 为true时完整扫描只使用一个工作线程
+     */
+    private @Nullable Snapshot refresh(boolean lowPriority) {
+        if (snapshot == null && !restoreAttempted) {
+            restorePersistedSnapshot();
+        }
+        if (DumbService.isDumb(project)) {
+            return snapshot;
+        }
+        if (fullRescanNeeded.compareAndSet(true, false)) {
+            rescanAllInParallel(lowPriority);
+        }
+        return ReadAction.nonBlocking(this::computeSnapshot)
+                .inSmartMode(project)
+                .expireWith(this)
+                .executeSynchronously();
+    }
+
+    /**
+     * 在读操作中按当前修改计数返回或重新计算快照
+     */
+    private Snapshot computeSnapshot() {
+        synchronized (lock) {
+            long modificationCount = modificationTracker.getModificationCount();
+            Snapshot latest = snapshot;
+            if (latest != null && latest.modificationCount == modificationCount) {
+                return latest;
+            }
+            Snapshot computed = new Snapshot(modificationCount, computeEndpoints());
+            snapshot = computed;
+            return computed;
+        }
+    }
+
+    /**
+     * 流式处理端点目录（需要在读操作中调用）
+     * 已完成首次扫描时直接遍历快照（必要时先增量更新）；尚未扫描或上次流式扫描被中断时边扫描边推送，
+     * 搜索界面不必等待整个项目扫描完成即可显示第一批结果
+     * @return 处理器要求停止时返回false
+     */
+    public boolean processEndpoints(@NotNull Processor<? super RestfulEndpointNavigationItem> processor) {
+        if (project.isDisposed()) {
+            return true;
+        }
+        if ((fullRescanNeeded.get() || streamCandidates != null) && !DumbService.isDumb(project)
+                && !ApplicationManager.getApplication().isDispatchThread()) {
+            Boolean completed = rescanAllStreaming(processor);
+            if (completed != null) {
+                return completed;
+            }
+        }
+        return ContainerUtil.process(getEndpoints(), processor);
+    }
+
+    /**
+     * 将具体URL解析为匹配的端点
+     * 路由模板索引按当前快照的行号构建（快照变化后重新构建），只为匹配的行生成导航项
+     * @param httpMethod 请求的HTTP方法，为null时不过滤
+     */
+    public @NotNull List<RestfulEndpointNavigationItem> resolveUrl(@Nullable String httpMethod, @NotNull String url) {
+        Snapshot current = getSnapshot();
+        if (current == null) {
+            return Collections.emptyList();
+        }
+
+        RouteIndex index = routeIndex;
+        if (index == null || index.store != current.store) {
+            EndpointStore store = current.store;
+            RouteTemplateTrie<Integer> trie = new RouteTemplateTrie<>();
+            for (int row = 0; row < store.size(); row++) {
+                String path = store.getPath(row);
+                if (path != null) {
+                    trie.add(store.getHttpMethod(row), path, row);
+                }
+            }
+            index = new RouteIndex(store, trie);
+            routeIndex = index;
+        }
+
+        List<Integer> rows = index.trie.resolve(httpMethod, url);
+        List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            endpoints.add(index.store.get(row));
+        }
+        return endpoints;
+    }
+
+    /**
+     * 端点搜索索引，返回前先按当前快照增量更新
+     */
+    public @NotNull EndpointSearchIndex getSearchIndex() {
+        Snapshot current = getSnapshot();
+        if (current != null) {
+            searchIndex.update(current.store);
+        }
+        return searchIndex;
+    }
+
+    /**
+     * 是否已完成首次扫描（此时查询快照不会触发完整扫描）
+     */
+    public boolean isWarm() {
+        return snapshot != null && !fullRescanNeeded.get() && streamCandidates == null;
+    }
+
+    /**
+     * 共享的URL服务（用于常量解析、导航等）
+     */
+    public @NotNull RestfulUrlService getUrlService() {
+        return urlService;
+    }
+
+    /**
+     * 共享的策略管理器
+     */
+    public @NotNull RestfulEndpointStrategyManager getStrategyManager() {
+        return urlService.getStrategyManager();
+    }
+
+    /**
+     * 目录修改追踪器，可作为其他缓存的依赖
+     */
+    public @NotNull SimpleModificationTracker getModificationTracker() {
+        return modificationTracker;
+    }
+
+    /**
+     * 丢弃全部缓存，下次访问时重新完整扫描
+     */
+    public void invalidateAll() {
+        fullRescanNeeded.set(true);
+        modificationTracker.incModificationCount();
+    }
+
+    /**
+     * 从磁盘快照恢复按文件缓存，恢复的文件在后台校验内容哈希后才视为最新
+     */
+    private Snapshot restorePersistedSnapshot() {
+        synchronized (lock) {
+            if (restoreAttempted) {
+                return null;
+            }
+            restoreAttempted = true;
+        }
+
+        // 读取快照文件时不持有lock，其他线程可以继续扫描或读取目录
+        EndpointSnapshotStore.Data data = snapshotStore.load();
+        if (data == null) {
+            return null;
+        }
+
+        Snapshot restored;
+        // 恢复过程不需要读操作，只持有lock不会与写操作形成死锁
+        synchronized (lock) {
+            // 加载期间已有其他线程完成扫描时不再使用快照
+            if (!fullRescanNeeded.get()) {
+                return null;
+            }
+
+            RestfulEndpointStrategyManager strategyManager = getStrategyManager();
+            fileScanStrategies = strategyManager.getFileScanStrategies();
+            projectScanStrategies = strategyManager.getProjectScanStrategies();
+            projectEndpoints = encode(data.projectEndpoints);
+            projectScanDirty = true;
+
+            for (EndpointSnapshotStore.FileEntry entry : data.files) {
+                fileEndpoints.put(entry.file,
+                        new FileEndpoints(UNVERIFIED_STAMP, UNVERIFIED_STAMP, encode(entry.endpoints), null));
+            }
+            fullRescanNeeded.set(false);
+
+            restored = new Snapshot(modificationTracker.getModificationCount(), assembleSnapshot());
+            snapshot = restored;
+        }
+
+        List<EndpointSnapshotStore.FileEntry> entries = data.files;
+        ReadAction.nonBlocking(() -> revalidateRestoredFiles(entries))
+                .inSmartMode(project)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService());
+        return restored;
+    }
+
+    /**
+     * 后台校验恢复的文件：内容未变化的文件记录当前修改戳，变化的文件从缓存中移除；
+     * 恢复的文件和快照之后新增的候选文件都标记为脏，随后在后台重新扫描
+     */
+    private void revalidateRestoredFiles(List<EndpointSnapshotStore.FileEntry> entries) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        Set<VirtualFile> knownFiles = new HashSet<>();
+        for (EndpointSnapshotStore.FileEntry entry : entries) {
+            ProgressManager.checkCanceled();
+            knownFiles.add(entry.file);
+
+            // 已被重新扫描或已完整重扫的文件无需校验
+            FileEndpoints cached = fileEndpoints.get(entry.file);
+            if (cached == null || cached.modificationStamp != UNVERIFIED_STAMP) {
+                continue;
+            }
+
+            // 自身内容未变化的文件先保留恢复的端点，但所引用的其他文件中的常量可能已变化，仍需重新扫描；
+            // 内容已变化的文件立即移除，不再显示过期的端点
+            PsiFile psiFile = entry.file.isValid() ? psiManager.findFile(entry.file) : null;
+            if (psiFile != null && EndpointSnapshotStore.isUpToDate(entry)) {
+                EndpointSnapshotStore.FileState state = new EndpointSnapshotStore.FileState(
+                        entry.file.getTimeStamp(), entry.file.getLength(), entry.contentHash);
+                fileEndpoints.replace(entry.file, cached,
+                        new FileEndpoints(psiFile.getModificationStamp(), UNVERIFIED_STAMP, cached.store, state));
+            } else {
+                fileEndpoints.remove(entry.file, cached);
+            }
+            dirtyFiles.add(entry.file);
+        }
+
+        for (VirtualFile file : getStrategyManager().collectCandidateFiles(fileScanStrategies)) {
+            if (!knownFiles.contains(file) && !fileEndpoints.containsKey(file)) {
+                dirtyFiles.add(file);
+            }
+        }
+
+        // 项目级策略（基于索引）同时重新扫描一次
+        modificationTracker.incModificationCount();
+    }
+
+    /**
+     * 将当前目录写入磁盘快照，尚未完成扫描时不保存
+     */
+    private void persistSnapshot() {
+        if (snapshot == null || fullRescanNeeded.get()) {
+            return;
+        }
+        try {
+            ReadAction.run(() -> {
+                // 待重扫、未校验或有未保存修改的文件不写入，下次打开时由后台校验作为新增候选文件重新扫描；
+                // 文件状态（含内容哈希）在后台扫描或校验时已记录，这里只写出内存中的数据
+                FileDocumentManager documentManager = FileDocumentManager.getInstance();
+                List<EndpointSnapshotStore.FileEntry> entries = new ArrayList<>();
+                for (Map.Entry<VirtualFile, FileEndpoints> entry : fileEndpoints.entrySet()) {
+                    VirtualFile file = entry.getKey();
+                    FileEndpoints cached = entry.getValue();
+                    if (cached.state != null && cached.modificationStamp != UNVERIFIED_STAMP
+                            && !dirtyFiles.contains(file) && !documentManager.isFileModified(file)) {
+                        entries.add(new EndpointSnapshotStore.FileEntry(file, cached.state.timeStamp,
+                                cached.state.length, cached.state.contentHash, cached.endpoints));
+                    }
+                }
+                snapshotStore.save(entries, projectEndpoints.asList());
+            });
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to persist endpoint snapshot", e);
+        }
+    }
+
+    /**
+     * 计算端点目录：首次或失效时完整扫描，否则只处理脏文件，再由各文件的编码结果拼装快照
+     */
+    private EndpointStore computeEndpoints() {
+        RestfulEndpointStrategyManager strategyManager = getStrategyManager();
+
+        if (fullRescanNeeded.compareAndSet(true, false)) {
+            rescanAll(strategyManager);
+        } else {
+            rescanDirtyFiles(strategyManager);
+        }
+
+        scanProjectEndpointsIfDirty(strategyManager);
+        // 所有候选文件均已扫描，流式推送不再需要按列表进行
+        streamCandidates = null;
+        return assembleSnapshot();
+    }
+
+    /**
+     * 重新执行项目级策略的扫描（持有lock时调用）
+     */
+    private void scanProjectEndpointsIfDirty(RestfulEndpointStrategyManager strategyManager) {
+        if (projectScanDirty) {
+            projectScanDirty = false;
+            try {
+                projectEndpoints = encode(strategyManager.scanWithMultipleStrategies(projectScanStrategies));
+                projectScanFiles = strategyManager.collectCandidateFiles(projectScanStrategies);
+            } catch (ProcessCanceledException e) {
+                projectScanDirty = true;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 由项目级端点和各文件已编码的端点拼装快照：只复制字典ID，不重新编码未变化的文件；
+     * 按路径稳定排序后去掉相同的端点，保留先出现的一个（项目级策略的端点在前）
+     */
+    private EndpointStore assembleSnapshot() {
+        compactDictionaryIfNeeded();
+
+        EndpointStore projectStore = projectEndpoints;
+        List<EndpointStore> segments = new ArrayList<>();
+        segments.add(projectStore);
+        int total = projectStore.size();
+        for (FileEndpoints entry : fileEndpoints.values()) {
+            segments.add(entry.store);
+            total += entry.store.size();
+        }
+
+        EndpointStore[] sources = new EndpointStore[total];
+        int[] rows = new int[total];
+        int[] order = new int[total];
+        int count = 0;
+        for (EndpointStore segment : segments) {
+            for (int row = 0; row < segment.size(); row++) {
+                sources[count] = segment;
+                rows[count] = row;
+                order[count] = count;
+                count++;
+            }
+        }
+        IntArrays.mergeSort(order, 0, count, (a, b) -> sources[a].comparePaths(rows[a], sources[b], rows[b]));
+
+        EndpointStore store = new EndpointStore(project, dictionary, count);
+        int runStart = 0;
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            if (k > 0 && sources[order[k - 1]].comparePaths(rows[order[k - 1]], sources[i], rows[i]) != 0) {
+                runStart = store.size();
+            }
+            // 相同的端点路径必然相同，只需在同一路径的端点中查找
+            boolean duplicate = false;
+            for (int j = runStart; j < store.size() && !duplicate; j++) {
+                duplicate = store.rowEquals(j, sources[i], rows[i]);
+            }
+            if (!duplicate) {
+                store.add(sources[i], rows[i]);
+            }
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * 字典只追加不删除，条目数翻倍后统计仍被引用的条目，超过一半未使用时用新字典重新编码全部缓存
+     */
+    private void compactDictionaryIfNeeded() {
+        EndpointDictionary current = dictionary;
+        if (current.size() < dictionaryCheckSize) {
+            return;
+        }
+
+        BitSet used = new BitSet(current.size());
+        projectEndpoints.collectIds(used);
+        for (FileEndpoints entry : fileEndpoints.values()) {
+            entry.store.collectIds(used);
+        }
+        int usedCount = used.cardinality();
+        if (usedCount * 2 < current.size()) {
+            EndpointDictionary compacted = new EndpointDictionary();
+            projectEndpoints = projectEndpoints.reencode(compacted);
+            fileEndpoints.replaceAll((file, entry) ->
+                    new FileEndpoints(entry.modificationStamp, entry.dependencyCount,
+                            entry.store.reencode(compacted), entry.state));
+            dictionary = compacted;
+            usedCount = compacted.size();
+        }
+        dictionaryCheckSize = Math.max(2 * usedCount, MIN_DICTIONARY_CHECK_SIZE);
+    }
+
+    /**
+     * 完整扫描所有候选文件并重建按文件缓存
+     * 所有框架策略共享一次文件遍历，每个文件只加载一次PSI
+     */
+    private void rescanAll(RestfulEndpointStrategyManager strategyManager) {
+        resetForFullRescan(strategyManager);
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        try {
+            for (VirtualFile file : strategyManager.collectCandidateFiles(fileScanStrategies)) {
+                ProgressManager.checkCanceled();
+                scanFile(psiManager, strategyManager, file);
+            }
+        } catch (ProcessCanceledException e) {
+            fullRescanNeeded.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * 边完整扫描边推送端点，扫描结果同时写入按文件缓存。
+     * 开始时所有候选文件标记为脏并记录为待推送列表，之后逐个文件短暂持有锁扫描，其他线程不必等待整个扫描；
+     * 处理器提前停止或操作被取消时，已扫描的文件留在缓存中，剩余文件仍为脏，下次调用继续按列表流式推送
+     * @return 处理器要求停止时返回false；没有待推送的完整扫描时返回null
+     */
+    private @Nullable Boolean rescanAllStreaming(Processor<? super RestfulEndpointNavigationItem> processor) {
+        RestfulEndpointStrategyManager strategyManager = getStrategyManager();
+        List<VirtualFile> candidates;
+        synchronized (lock) {
+            if (fullRescanNeeded.compareAndSet(true, false)) {
+                try {
+                    resetForFullRescan(strategyManager);
+                    candidates = new ArrayList<>(strategyManager.collectCandidateFiles(fileScanStrategies));
+                } catch (ProcessCanceledException e) {
+                    fullRescanNeeded.set(true);
+                    throw e;
+                }
+                dirtyFiles.addAll(candidates);
+                streamCandidates = candidates;
+                modificationTracker.incModificationCount();
+            } else {
+                candidates = streamCandidates;
+                if (candidates == null) {
+                    return null;
+                }
+            }
+        }
+
+        // 已扫描且未变化的文件直接命中缓存，重复调用或与其他线程并发时不会重复解析
+        PsiManager psiManager = PsiManager.getInstance(project);
+        Set<StoreRow> seen = new HashSet<>();
+        for (VirtualFile file : candidates) {
+            ProgressManager.checkCanceled();
+            FileEndpoints entry;
+            synchronized (lock) {
+                dirtyFiles.remove(file);
+                try {
+                    entry = scanFile(psiManager, strategyManager, file);
+                } catch (ProcessCanceledException e) {
+                    dirtyFiles.add(file);
+                    throw e;
+                }
+            }
+            if (entry != null && !processUnique(entry.store, seen, processor)) {
+                return false;
+            }
+        }
+
+        EndpointStore projectStore;
+        synchronized (lock) {
+            scanProjectEndpointsIfDirty(strategyManager);
+            if (streamCandidates == candidates) {
+                streamCandidates = null;
+            }
+            modificationTracker.incModificationCount();
+            projectStore = projectEndpoints;
+        }
+        return processUnique(projectStore, seen, processor);
+    }
+
+    /**
+     * 按结构去重后推送存储中的端点，只为推送的行生成导航项
+     */
+    private static boolean processUnique(EndpointStore store, Set<StoreRow> seen,
+                                         Processor<? super RestfulEndpointNavigationItem> processor) {
+        for (int row = 0; row < store.size(); row++) {
+            if (seen.add(new StoreRow(store, row)) && !processor.process(store.get(row))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 在读操作之外并行完整扫描
+     * 新的按文件缓存和字典先构建在局部变量中，扫描期间其他线程继续使用原有缓存和快照；
+     * 完成后在读操作和锁内一次性替换并递增修改计数
+     * @param lowPriority 为true时只使用一个工作线程（后台预热）
+     */
+    private void rescanAllInParallel(boolean lowPriority) {
+        ApplicationManager.getApplication().assertIsNonDispatchThread();
+        RestfulEndpointStrategyManager strategyManager = getStrategyManager();
+        List<RestfulEndpointScanStrategy> newFileStrategies = strategyManager.getFileScanStrategies();
+        List<RestfulEndpointScanStrategy> newProjectStrategies = strategyManager.getProjectScanStrategies();
+        try {
+            // 在扫描开始前读取，扫描期间发生的变化会使这些条目在下次增量更新时重新扫描
+            long dependencyCount = jvmModificationTracker.getModificationCount();
+            Set<VirtualFile> candidates = ReadAction.nonBlocking(() -> strategyManager.collectCandidateFiles(newFileStrategies))
+                    .inSmartMode(project)
+                    .executeSynchronously();
+            List<RestfulEndpointStrategyManager.FileScanResult> results = lowPriority
+                    ? strategyManager.scanFilesInBackground(candidates, newFileStrategies)
+                    : strategyManager.scanFilesInParallel(candidates, newFileStrategies);
+
+            EndpointDictionary newDictionary = new EndpointDictionary();
+            Map<VirtualFile, FileEndpoints> newEntries = new HashMap<>();
+            for (RestfulEndpointStrategyManager.FileScanResult result : results) {
+                if (!result.getEndpoints().isEmpty()) {
+                    newEntries.put(result.getFile(), new FileEndpoints(result.getModificationStamp(), dependencyCount,
+                            EndpointStore.of(project, newDictionary, result.getEndpoints()),
+                            EndpointSnapshotStore.captureState(result.getFile())));
+                }
+            }
+
+            // 在读操作内替换，期间不会有写操作（及其VFS/PSI事件）修改缓存；
+            // 扫描期间标记的脏文件保留，修改戳未变化的会被跳过
+            ReadAction.run(() -> {
+                synchronized (lock) {
+                    fileEndpoints.clear();
+                    fileEndpoints.putAll(newEntries);
+                    projectEndpoints = projectEndpoints.reencode(newDictionary);
+                    dictionary = newDictionary;
+                    dictionaryCheckSize = MIN_DICTIONARY_CHECK_SIZE;
+                    fileScanStrategies = newFileStrategies;
+                    projectScanStrategies = newProjectStrategies;
+                    projectScanDirty = true;
+                    streamCandidates = null;
+                    modificationTracker.incModificationCount();
+                }
+            });
+        } catch (ProcessCanceledException e) {
+            fullRescanNeeded.set(true);
+            throw e;
+        } catch (RuntimeException e) {
+            // 并行扫描失败时回退到读操作内的顺序扫描
+            LOG.warn("Parallel endpoint scan failed", e);
+            fullRescanNeeded.set(true);
+        }
+    }
+
+    /**
+     * 清空按文件缓存并重新确定参与扫描的策略（持有lock时调用）
+     */
+    private void resetForFullRescan(RestfulEndpointStrategyManager strategyManager) {
+        dirtyFiles.clear();
+        fileEndpoints.clear();
+        streamCandidates = null;
+        dictionary = new EndpointDictionary();
+        dictionaryCheckSize = MIN_DICTIONARY_CHECK_SIZE;
+
+        // 候选文件由索引确定，无需再逐个检查策略的适用性
+        fileScanStrategies = strategyManager.getFileScanStrategies();
+        projectScanStrategies = strategyManager.getProjectScanStrategies();
+        projectScanDirty = true;
+    }
+
+    /**
+     * 只重新扫描脏文件，文件修改戳未变化时跳过；JVM文件有变化时，
+     * 扫描后又有JVM文件变化的缓存条目同样标记为脏（常量可能在其他文件中定义）
+     */
+    private void rescanDirtyFiles(RestfulEndpointStrategyManager strategyManager) {
+        long dependencyCount = jvmModificationTracker.getModificationCount();
+        for (Map.Entry<VirtualFile, FileEndpoints> entry : fileEndpoints.entrySet()) {
+            if (entry.getValue().dependencyCount != dependencyCount) {
+                dirtyFiles.add(entry.getKey());
+            }
+        }
+        if (dirtyFiles.isEmpty()) {
+            return;
+        }
+
+        List<VirtualFile> files = new ArrayList<>(dirtyFiles);
+        dirtyFiles.removeAll(files);
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        Set<VirtualFile> currentProjectFiles = null;
+        try {
+            for (VirtualFile file : files) {
+                ProgressManager.checkCanceled();
+                // 项目级策略的结果存在跨文件关系（如FastAPI路由器的include），上次扫描时有路由信息（可能已删除路由）
+                // 或当前索引中有路由信息的文件变化时整体重新扫描，其余同类型文件忽略
+                if (!projectScanDirty && isProjectCandidateFile(file)) {
+                    if (currentProjectFiles == null) {
+                        currentProjectFiles = strategyManager.collectCandidateFiles(projectScanStrategies);
+                    }
+                    Set<VirtualFile> previousProjectFiles = projectScanFiles;
+                    if (previousProjectFiles == null || previousProjectFiles.contains(file)
+                            || currentProjectFiles.contains(file)) {
+                        projectScanDirty = true;
+                    }
+                }
+                scanFile(psiManager, strategyManager, file);
+            }
+        } catch (ProcessCanceledException e) {
+            // 已扫描的文件修改戳未变化时会被跳过，重新标记全部文件即可
+            dirtyFiles.addAll(files);
+            throw e;
+        }
+    }
+
+    private boolean isProjectCandidateFile(VirtualFile file) {
+        for (RestfulEndpointScanStrategy strategy : projectScanStrategies) {
+            if (strategy.isCandidateFile(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 扫描单个文件并更新缓存
+     * @return 文件当前的缓存条目，没有端点时返回null
+     */
+    private @Nullable FileEndpoints scanFile(PsiManager psiManager, RestfulEndpointStrategyManager strategyManager,
+                                             VirtualFile file) {
+        if (!file.isValid() || file.isDirectory()) {
+            fileEndpoints.remove(file);
+            return null;
+        }
+
+        PsiFile psiFile = psiManager.findFile(file);
+        if (psiFile == null) {
+            fileEndpoints.remove(file);
+            return null;
+        }
+
+        long stamp = psiFile.getModificationStamp();
+        long dependencyCount = jvmModificationTracker.getModificationCount();
+        FileEndpoints cached = fileEndpoints.get(file);
+        if (cached != null && cached.modificationStamp == stamp && cached.dependencyCount == dependencyCount) {
+            return cached;
+        }
+
+        List<RestfulEndpointNavigationItem> endpoints = strategyManager.scanFile(psiFile, fileScanStrategies);
+        if (endpoints.isEmpty()) {
+            fileEndpoints.remove(file);
+            return null;
+        }
+        FileEndpoints entry = new FileEndpoints(stamp, dependencyCount, encode(endpoints),
+                EndpointSnapshotStore.captureState(file));
+        fileEndpoints.put(file, entry);
+        return entry;
+    }
+
+    /**
+     * 注册PSI/VFS/项目根监听，将变化的文件标记为脏
+     */
+    private void installListeners() {
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event.getFile());
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event.getFile());
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event.getFile());
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event.getFile());
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event.getFile());
+            }
+        }, this);
+
+        MessageBusConnection connection = project.getMessageBus().connect(this);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    VirtualFile file = event.getFile();
+                    if (file == null) {
+                        continue;
+                    }
+                    if (file.isDirectory()) {
+                        directoryChanged(event, file);
+                    } else {
+                        markDirty(file);
+                    }
+                }
+            }
+        });
+        connection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * 使用当前字典编码端点
+     */
+    private EndpointStore encode(List<RestfulEndpointNavigationItem> endpoints) {
+        return EndpointStore.of(project, dictionary, endpoints);
+    }
+
+    private static boolean isJvmLanguage(@NotNull Language language) {
+        return language.isKindOf(JavaLanguage.INSTANCE) || "kotlin".equals(language.getID());
+    }
+
+    private void markDirty(PsiFile psiFile) {
+        if (psiFile != null && psiFile.isPhysical()) {
+            markDirty(psiFile.getViewProvider().getVirtualFile());
+        }
+    }
+
+    private void markDirty(VirtualFile file) {
+        // 已删除的文件仍需标记，以便从缓存中移除
+        if (file == null || (file.isValid() && !ProjectFileIndex.getInstance(project).isInContent(file))) {
+            return;
+        }
+        if (!getStrategyManager().isCandidateFile(file)) {
+            return;
+        }
+        dirtyFiles.add(file);
+        modificationTracker.incModificationCount();
+    }
+
+    /**
+     * 处理目录的创建、复制、移动和删除（在写操作中调用）：
+     * 删除或移出时丢弃该目录下的缓存条目，创建或移入项目内容时只将其下的候选文件标记为脏；
+     * 项目内容之外的目录（编译输出、排除目录、其他项目）直接忽略
+     */
+    private void directoryChanged(VFileEvent event, VirtualFile directory) {
+        if (event instanceof VFileDeleteEvent) {
+            String path = event.getPath();
+            dropCachedFiles(file -> !file.isValid() || FileUtil.isAncestor(path, file.getPath(), false));
+            return;
+        }
+
+        VirtualFile target = directory;
+        if (event instanceof VFileMoveEvent) {
+            // 移动后文件对象不变、路径已更新，按目录对象匹配；仍在项目内容中的文件在下面重新标记为脏
+            dropCachedFiles(file -> VfsUtilCore.isAncestor(directory, file, false));
+        } else if (event instanceof VFileCopyEvent) {
+            target = ((VFileCopyEvent) event).findCreatedFile();
+        } else if (!(event instanceof VFileCreateEvent)) {
+            return;
+        }
+
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        if (target == null || !target.isValid() || !fileIndex.isInContent(target)) {
+            return;
+        }
+        RestfulEndpointStrategyManager strategyManager = getStrategyManager();
+        List<VirtualFile> candidates = new ArrayList<>();
+        fileIndex.iterateContentUnderDirectory(target, file -> {
+            if (!file.isDirectory() && strategyManager.isCandidateFile(file)) {
+                candidates.add(file);
+            }
+            return true;
+        });
+        if (!candidates.isEmpty()) {
+            dirtyFiles.addAll(candidates);
+            modificationTracker.incModificationCount();
+        }
+    }
+
+    /**
+     * 丢弃满足条件的缓存条目（目录删除或移动时调用）
+     */
+    private void dropCachedFiles(Predicate<VirtualFile> condition) {
+        boolean removed = fileEndpoints.keySet().removeIf(condition);
+        dirtyFiles.removeIf(condition);
+        if (removed) {
+            modificationTracker.incModificationCount();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        persistSnapshot();
+        fileEndpoints.clear();
+        dirtyFiles.clear();
+        snapshot = null;
+        routeIndex = null;
+    }
+
+    /**
+     * 单个文件的扫描结果
+     */
+    private static final class FileEndpoints {
+        private final long modificationStamp;
+        // 扫描时的JVM修改计数
+        private final long dependencyCount;
+        private final EndpointStore store;
+        private final List<RestfulEndpointNavigationItem> endpoints;
+        // 扫描或校验时的文件状态，用于保存快照；为null时不保存该文件
+        private final @Nullable EndpointSnapshotStore.FileState state;
+
+        private FileEndpoints(long modificationStamp, long dependencyCount, EndpointStore store,
+                              @Nullable EndpointSnapshotStore.FileState state) {
+            this.modificationStamp = modificationStamp;
+            this.dependencyCount = dependencyCount;
+            this.store = store;
+            this.endpoints = store.asList();
+            this.state = state;
+        }
+    }
+
+    /**
+     * 目录快照
+     */
+    private static final class Snapshot {
+        private final long modificationCount;
+        private final EndpointStore store;
+        private final List<RestfulEndpointNavigationItem> endpoints;
+
+        private Snapshot(long modificationCount, EndpointStore store) {
+            this.modificationCount = modificationCount;
+            this.store = store;
+            this.endpoints = store.asList();
+        }
+    }
+
+    /**
+     * 基于某个快照构建的路由模板索引，值为快照存储中的行号
+     */
+    private static final class RouteIndex {
+        private final EndpointStore store;
+        private final RouteTemplateTrie<Integer> trie;
+
+        private RouteIndex(EndpointStore store, RouteTemplateTrie<Integer> trie) {
+            this.store = store;
+            this.trie = trie;
+        }
+    }
+
+    /**
+     * 存储中的一行，按端点结构（HTTP方法、路径、类名和方法名）判等，流式推送时用于去重
+     */
+    private static final class StoreRow {
+        private final EndpointStore store;
+        private final int row;
+        private final int hash;
+
+        private StoreRow(EndpointStore store, int row) {
+            this.store = store;
+            this.row = row;
+            this.hash = store.rowValueHashCode(row);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StoreRow)) return false;
+            StoreRow that = (StoreRow) o;
+            return hash == that.hash && store.rowEquals(row, that.store, that.row);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,19 +1,16 @@
 package com.devtoolkit.pro.services;
 
+import com.devtoolkit.pro.index.RestfulMappingIndex;
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.devtoolkit.pro.strategies.CandidateFileFilter;
 import com.devtoolkit.pro.strategies.RestfulEndpointStrategyManager;
+import com.devtoolkit.pro.utils.OptionalPluginBridge;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.openapi.fileTypes.FileType;
-import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.JavaTokenType;
-import com.intellij.psi.PsiConstantEvaluationHelper;
-import com.intellij.psi.JavaPsiFacade;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -76,9 +73,7 @@ public class RestfulUrlService {
         }
 
         try {
-            FileType javaFileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            Collection<VirtualFile> javaFiles = FileTypeIndex.getFiles(javaFileType,
-                    GlobalSearchScope.projectScope(project));
+            Collection<VirtualFile> javaFiles = findMappingCandidateFiles();
 
             for (VirtualFile virtualFile : javaFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
@@ -91,17 +86,23 @@ public class RestfulUrlService {
         }
     }
 
+    /**
+     * 通过词索引查找可能包含Spring/JAX-RS映射注解的Java文件
+     */
+    private Collection<VirtualFile> findMappingCandidateFiles() {
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        Set<VirtualFile> files = CandidateFileFilter.findFilesWithAnyWord(project, scope, "java",
+                CandidateFileFilter.SPRING_MAPPING_WORDS);
+        files.addAll(CandidateFileFilter.findFilesWithAnyWord(project, scope, "java",
+                CandidateFileFilter.JAXRS_WORDS));
+        return files;
+    }
+
     /**
      * 检查Java模块是否可用
      */
     private boolean isJavaModuleAvailable() {
-        try {
-            // 尝试加载PsiJavaFile类
-            Class.forName("com.intellij.psi.PsiJavaFile");
-            return true;
-        } catch (ClassNotFoundException e) {
-            return false;
-        }
+        return OptionalPluginBridge.isJavaAvailable();
     }
 
     /**
@@ -119,8 +120,8 @@ public class RestfulUrlService {
      */
     private void scanJavaFileWithReflection(PsiFile javaFile, Set<String> urls) {
         try {
-            // 通过反射获取classes
-            Object[] classes = (Object[]) javaFile.getClass().getMethod("getClasses").invoke(javaFile);
+            // 通过OptionalPluginBridge获取classes
+            Object[] classes = OptionalPluginBridge.invokeArray(javaFile, "getClasses");
 
             for (Object classObj : classes) {
                 PsiClass psiClass = (PsiClass) classObj;
@@ -246,88 +247,18 @@ public class RestfulUrlService {
     }
 
     /**
-     * 使用PSI常量求值来解析常量表达式，如 API.API_V1_PREFIX + "/fetch"
-     * 这是统一的常量解析方法，供所有组件使用
+     * 求值常量表达式，如 API.API_V1_PREFIX + "/fetch"
+     * 委托给共享的ConstantResolver，常量值按字段缓存
      */
     public Object evaluateConstantExpression(PsiElement element) {
-        try {
-            // 获取PSI常量求值助手
-            PsiConstantEvaluationHelper evaluationHelper = JavaPsiFacade.getInstance(element.getProject())
-                    .getConstantEvaluationHelper();
-
-            // 尝试计算常量表达式的值
-            Object result = evaluationHelper.computeConstantExpression(element, false);
-
-            // 如果标准求值失败，尝试手动解析常量引用
-            if (result == null && element instanceof PsiExpression) {
-                result = resolveConstantReference((PsiExpression) element);
-            }
-
-            return result;
-        } catch (Exception e) {
-            // 如果求值失败，尝试手动解析
-            if (element instanceof PsiExpression) {
-                return resolveConstantReference((PsiExpression) element);
-            }
-            return null;
-        }
+        return ConstantResolver.getInstance(project).evaluate(element);
     }
 
     /**
-     * 手动解析常量引用，特别是第三方jar包中的常量
-     * 这是统一的常量解析方法，供所有组件使用
+     * 解析常量引用，包括未能直接解析的第三方jar包中的常量
      */
     public Object resolveConstantReference(PsiExpression expression) {
-        try {
-            // 处理二元表达式（如 API.API_V1_PREFIX + "/fetch"）
-            if (expression instanceof PsiBinaryExpression) {
-                PsiBinaryExpression binaryExpr = (PsiBinaryExpression) expression;
-                if (binaryExpr.getOperationTokenType() == JavaTokenType.PLUS) {
-                    Object left = resolveConstantReference(binaryExpr.getLOperand());
-                    Object right = resolveConstantReference(binaryExpr.getROperand());
-                    if (left != null && right != null) {
-                        return left.toString() + right.toString();
-                    }
-                }
-            }
-
-            // 处理引用表达式（如 API.API_V1_PREFIX）
-            if (expression instanceof PsiReferenceExpression) {
-                PsiReferenceExpression refExpr = (PsiReferenceExpression) expression;
-                PsiElement resolved = refExpr.resolve();
-
-                if (resolved instanceof PsiField) {
-                    PsiField field = (PsiField) resolved;
-                    // 检查是否是常量字段（static final）
-                    if (field.hasModifierProperty(PsiModifier.STATIC) &&
-                            field.hasModifierProperty(PsiModifier.FINAL)) {
-
-                        PsiExpression initializer = field.getInitializer();
-                        if (initializer instanceof PsiLiteralExpression) {
-                            return ((PsiLiteralExpression) initializer).getValue();
-                        } else if (initializer != null) {
-                            // 递归解析初始化表达式
-                            return resolveConstantReference(initializer);
-                        }
-                    }
-                } else if (resolved == null) {
-                    // 如果标准resolve失败，尝试使用JavaPsiFacade查找第三方jar包中的类和字段
-                    Object result = resolveExternalConstant(refExpr);
-                    if (result != null) {
-                        return result;
-                    }
-                }
-            }
-
-            // 处理字面量表达式
-            if (expression instanceof PsiLiteralExpression) {
-                return ((PsiLiteralExpression) expression).getValue();
-            }
-
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
+        return ConstantResolver.getInstance(project).evaluate(expression);
     }
 
     /**
@@ -379,20 +310,12 @@ public class RestfulUrlService {
 
     /**
      * 查找项目中所有的RESTful端点并返回NavigationItem列表
-     * 使用策略模式选择最佳的扫描策略
+     * 一次遍历候选文件，分发给所有框架策略
      */
     public List<RestfulEndpointNavigationItem> findAllRestfulEndpoints() {
         try {
-            // 使用策略模式扫描端点
-            List<RestfulEndpointNavigationItem> endpoints = strategyManager.scanWithBestStrategy();
-
-            // 如果策略模式没有找到端点，回退到传统扫描方式
-            if (endpoints.isEmpty()) {
-
-                endpoints = fallbackToLegacyScan();
-            }
-
-            return endpoints;
+            // 单次遍历扫描所有框架，结果为空说明项目中没有端点，不再重复扫描
+            return strategyManager.scanAllFrameworks();
 
         } catch (Exception e) {
             System.err.println("Strategy-based scan failed: " + e.getMessage());
@@ -477,92 +400,6 @@ public class RestfulUrlService {
         return fullPath;
     }
 
-    /**
-     * 解析第三方jar包中的常量，使用JavaPsiFacade主动查找
-     */
-    private Object resolveExternalConstant(PsiReferenceExpression refExpr) {
-        try {
-            String referenceName = refExpr.getReferenceName();
-            if (referenceName == null) {
-                return null;
-            }
-
-            // 获取限定符表达式（如 API.API_V1_PREFIX 中的 API）
-            PsiExpression qualifierExpression = refExpr.getQualifierExpression();
-            if (qualifierExpression instanceof PsiReferenceExpression) {
-                PsiReferenceExpression qualifierRef = (PsiReferenceExpression) qualifierExpression;
-                String className = qualifierRef.getReferenceName();
-
-                if (className != null) {
-                    // 尝试查找可能的完全限定类名
-                    String[] possiblePackages = {
-                            "", // 当前包
-                            "com.api.", // 常见的API包
-                            "org.api.",
-                            "com.constants.",
-                            "org.constants."
-                    };
-
-                    JavaPsiFacade facade = JavaPsiFacade.getInstance(refExpr.getProject());
-                    GlobalSearchScope scope = GlobalSearchScope.allScope(refExpr.getProject());
-
-                    for (String packagePrefix : possiblePackages) {
-                        String fullClassName = packagePrefix + className;
-                        PsiClass psiClass = facade.findClass(fullClassName, scope);
-
-                        if (psiClass != null) {
-                            PsiField field = psiClass.findFieldByName(referenceName, false);
-
-                            if (field != null &&
-                                    field.hasModifierProperty(PsiModifier.STATIC) &&
-                                    field.hasModifierProperty(PsiModifier.FINAL)) {
-
-                                PsiExpression initializer = field.getInitializer();
-                                if (initializer instanceof PsiLiteralExpression) {
-                                    Object value = ((PsiLiteralExpression) initializer).getValue();
-                                    return value;
-                                }
-                            }
-                        }
-                    }
-
-                    // 如果上述方法失败，尝试通过import语句查找完整类名
-                    PsiFile containingFile = refExpr.getContainingFile();
-                    if (containingFile instanceof PsiJavaFile) {
-                        PsiJavaFile javaFile = (PsiJavaFile) containingFile;
-                        PsiImportList importList = javaFile.getImportList();
-
-                        if (importList != null) {
-                            for (PsiImportStatement importStatement : importList.getImportStatements()) {
-                                String importedName = importStatement.getQualifiedName();
-                                if (importedName != null && importedName.endsWith("." + className)) {
-                                    PsiClass importedClass = facade.findClass(importedName, scope);
-                                    if (importedClass != null) {
-                                        PsiField field = importedClass.findFieldByName(referenceName, false);
-                                        if (field != null &&
-                                                field.hasModifierProperty(PsiModifier.STATIC) &&
-                                                field.hasModifierProperty(PsiModifier.FINAL)) {
-
-                                            PsiExpression initializer = field.getInitializer();
-                                            if (initializer instanceof PsiLiteralExpression) {
-                                                Object value = ((PsiLiteralExpression) initializer).getValue();
-                                                return value;
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     /**
      * 尝试从Spring注解获取Controller信息
      * 优先通过注解搜索获取所有@RestController和@Controller类
@@ -644,16 +481,14 @@ public class RestfulUrlService {
         }
 
         try {
-            // 通过文件扫描查找有指定注解的类
-            FileType javaFileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            Collection<VirtualFile> javaFiles = FileTypeIndex.getFiles(javaFileType, scope);
+            // 只在映射注解索引命中的文件中查找，避免加载所有Java文件的PSI
+            Collection<VirtualFile> javaFiles = RestfulMappingIndex.getContainingFiles(project, scope);
 
             for (VirtualFile virtualFile : javaFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
                 if (isJavaFile(psiFile)) {
                     try {
-                        // 使用反射获取类
-                        Object[] fileClasses = (Object[]) psiFile.getClass().getMethod("getClasses").invoke(psiFile);
+                        Object[] fileClasses = OptionalPluginBridge.invokeArray(psiFile, "getClasses");
                         for (Object classObj : fileClasses) {
                             PsiClass psiClass = (PsiClass) classObj;
                             if (hasAnnotation(psiClass, annotationName)) {
@@ -739,15 +574,8 @@ public class RestfulUrlService {
      * 去重端点列表
      */
     private List<RestfulEndpointNavigationItem> deduplicateEndpoints(List<RestfulEndpointNavigationItem> endpoints) {
-        Map<String, RestfulEndpointNavigationItem> uniqueEndpoints = new LinkedHashMap<>();
-
-        for (RestfulEndpointNavigationItem endpoint : endpoints) {
-            String key = endpoint.getHttpMethod() + ":" + endpoint.getPath() + ":" +
-                    endpoint.getClassName() + "." + endpoint.getMethodName();
-            uniqueEndpoints.put(key, endpoint);
-        }
-
-        return new ArrayList<>(uniqueEndpoints.values());
+        // 端点按HTTP方法、路径、类名和方法名判断相等，直接用作集合元素
+        return new ArrayList<>(new LinkedHashSet<>(endpoints));
     }
 
     /**
@@ -761,9 +589,7 @@ public class RestfulUrlService {
         }
 
         try {
-            FileType javaFileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            Collection<VirtualFile> javaFiles = FileTypeIndex.getFiles(javaFileType,
-                    GlobalSearchScope.projectScope(project));
+            Collection<VirtualFile> javaFiles = findMappingCandidateFiles();
 
             for (VirtualFile virtualFile : javaFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
@@ -782,8 +608,8 @@ public class RestfulUrlService {
     private void scanJavaFileForEndpointsWithReflection(PsiFile javaFile,
             List<RestfulEndpointNavigationItem> endpoints) {
         try {
-            // 通过反射获取classes
-            Object[] classes = (Object[]) javaFile.getClass().getMethod("getClasses").invoke(javaFile);
+            // 通过OptionalPluginBridge获取classes
+            Object[] classes = OptionalPluginBridge.invokeArray(javaFile, "getClasses");
 
             for (Object classObj : classes) {
                 PsiClass psiClass = (PsiClass) classObj;
@@ -883,16 +709,15 @@ public class RestfulUrlService {
         }
 
         try {
-            FileType javaFileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            Collection<VirtualFile> javaFiles = FileTypeIndex.getFiles(javaFileType,
-                    GlobalSearchScope.projectScope(project));
+            // 只查找包含该类名单词的Java文件
+            Collection<VirtualFile> javaFiles = CandidateFileFilter.findFilesWithAnyWord(project,
+                    GlobalSearchScope.projectScope(project), "java", className);
 
             for (VirtualFile virtualFile : javaFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
                 if (isJavaFile(psiFile)) {
                     try {
-                        // 使用反射获取类
-                        Object[] classes = (Object[]) psiFile.getClass().getMethod("getClasses").invoke(psiFile);
+                        Object[] classes = OptionalPluginBridge.invokeArray(psiFile, "getClasses");
                         for (Object classObj : classes) {
                             PsiClass psiClass = (PsiClass) classObj;
                             if (className.equals(psiClass.getName())) {
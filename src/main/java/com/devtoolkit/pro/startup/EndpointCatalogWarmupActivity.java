@@ -0,0 +1,64 @@
+package com.devtoolkit.pro.startup;
+
+import com.devtoolkit.pro.services.RestfulEndpointCatalogService;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 端点目录预热
+ * 项目打开后等待索引完成，再以可取消的后台任务构建端点目录，首次搜索即可命中缓存
+ */
+public class EndpointCatalogWarmupActivity implements StartupActivity, DumbAware {
+
+    private static final Logger LOG = Logger.getInstance(EndpointCatalogWarmupActivity.class);
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        if (ApplicationManager.getApplication().isUnitTestMode() || ApplicationManager.getApplication().isHeadlessEnvironment()) {
+            return;
+        }
+        DumbService.getInstance(project).runWhenSmart(() -> {
+            if (!project.isDisposed()) {
+                new WarmupTask(project).queue();
+            }
+        });
+    }
+
+    /**
+     * 后台构建任务：通过目录服务的低优先级预热路径构建，文件扫描只占用一个工作线程，
+     * 所有读操作均可被写操作打断并自动重启，不会阻塞编辑
+     */
+    private static final class WarmupTask extends Task.Backgroundable {
+
+        private WarmupTask(@NotNull Project project) {
+            super(project, "Indexing RESTful endpoints", true);
+        }
+
+        @Override
+        public void run(@NotNull ProgressIndicator indicator) {
+            Project project = getProject();
+            if (project.isDisposed()) {
+                return;
+            }
+            indicator.setIndeterminate(true);
+            long start = System.currentTimeMillis();
+            try {
+                int count = RestfulEndpointCatalogService.getInstance(project).warmUp();
+                LOG.info("Endpoint catalog warmed up with " + count + " endpoints in "
+                        + (System.currentTimeMillis() - start) + " ms");
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                LOG.warn("Failed to warm up endpoint catalog", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.devtoolkit.pro.strategies;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.impl.cache.CacheManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.UsageSearchContext;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 候选文件预过滤器
+ * 通过平台词索引只返回包含指定单词（注解短名、路由关键字等）的文件，
+ * 扫描时不必为不可能声明端点的文件加载PSI
+ */
+public final class CandidateFileFilter {
+
+    /** Spring映射注解短名 */
+    public static final String[] SPRING_MAPPING_WORDS = {
+        "RequestMapping", "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping"
+    };
+
+    /** JAX-RS注解短名 */
+    public static final String[] JAXRS_WORDS = {
+        "Path", "GET", "POST", "PUT", "DELETE"
+    };
+
+    private CandidateFileFilter() {
+    }
+
+    /**
+     * 查找包含任一单词的文件
+     * @param extension 文件扩展名过滤，为null时不过滤
+     */
+    public static Set<VirtualFile> findFilesWithAnyWord(Project project, GlobalSearchScope scope,
+                                                        String extension, String... words) {
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        CacheManager cacheManager = CacheManager.getInstance(project);
+        for (String word : words) {
+            // 使用ANY上下文：Python插件不可用时.py文件按纯文本建立词索引
+            for (VirtualFile file : cacheManager.getVirtualFilesWithWord(word, UsageSearchContext.ANY, scope, true)) {
+                if (extension == null || extension.equals(file.getExtension())) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+}
@@ -1,8 +1,15 @@
 package com.devtoolkit.pro.strategies;
 
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.Processor;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -38,10 +45,81 @@ public interface RestfulEndpointScanStrategy {
      */
     List<RestfulEndpointNavigationItem> scanEndpoints(Project project);
     
+    /**
+     * 流式扫描RESTful端点，找到一个端点就立即交给处理器
+     * 支持按文件扫描的策略逐个文件推送结果，其余策略扫描完成后再推送
+     * @param project 当前项目
+     * @param processor 端点处理器，返回false时停止扫描
+     * @return 处理器要求停止时返回false
+     */
+    default boolean scanEndpoints(Project project, Processor<? super RestfulEndpointNavigationItem> processor) {
+        if (!supportsFileScan()) {
+            for (RestfulEndpointNavigationItem endpoint : scanEndpoints(project)) {
+                if (!processor.process(endpoint)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile virtualFile : findCandidateFiles(project)) {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = psiManager.findFile(virtualFile);
+            if (psiFile == null) {
+                continue;
+            }
+            for (RestfulEndpointNavigationItem endpoint : scanFile(project, psiFile)) {
+                if (!processor.process(endpoint)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
     /**
      * 检查策略是否支持指定的框架
      * @param frameworkName 框架名称（如"spring", "fastapi", "flask"等）
      * @return 是否支持
      */
     boolean supportsFramework(String frameworkName);
-}
\ No newline at end of file
+    
+    /**
+     * 是否支持按文件增量扫描
+     * 支持时目录服务会按文件缓存结果，文件变化后只重新扫描该文件
+     * @return 支持返回true
+     */
+    default boolean supportsFileScan() {
+        return false;
+    }
+    
+    /**
+     * 判断文件是否与本策略相关（仅做扩展名等廉价判断）
+     * @param file 虚拟文件
+     * @return 相关返回true
+     */
+    default boolean isCandidateFile(VirtualFile file) {
+        return false;
+    }
+    
+    /**
+     * 查找本策略需要扫描的候选文件
+     * 不支持按文件扫描的策略返回当前包含其路由信息的文件，目录服务据此判断文件变化是否需要重新扫描
+     * @param project 当前项目
+     * @return 候选文件集合
+     */
+    default Collection<VirtualFile> findCandidateFiles(Project project) {
+        return Collections.emptyList();
+    }
+    
+    /**
+     * 扫描单个文件中的RESTful端点
+     * @param project 当前项目
+     * @param file 要扫描的文件
+     * @return 该文件中的端点列表
+     */
+    default List<RestfulEndpointNavigationItem> scanFile(Project project, PsiFile file) {
+        return Collections.emptyList();
+    }
+}
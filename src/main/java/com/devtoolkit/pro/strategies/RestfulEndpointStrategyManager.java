@@ -4,12 +4,24 @@ import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
 import com.devtoolkit.pro.strategies.impl.SpringEndpointScanStrategy;
 import com.devtoolkit.pro.strategies.impl.FastApiEndpointScanStrategy;
 import com.devtoolkit.pro.strategies.impl.JaxRsEndpointScanStrategy;
+import com.devtoolkit.pro.utils.OptionalPluginBridge;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.ide.plugins.PluginManager;
 import com.intellij.ide.plugins.IdeaPluginDescriptor;
 import com.intellij.openapi.extensions.PluginId;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.concurrency.CancellablePromise;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 
 /**
  * RESTful端点扫描策略管理器
@@ -17,6 +29,19 @@ import java.util.*;
  */
 public class RestfulEndpointStrategyManager {
     
+    private static final Logger LOG = Logger.getInstance(RestfulEndpointStrategyManager.class);
+
+    // 并行扫描的工作线程数
+    private static final int SCAN_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+    // 每个工作线程平均分到的分片数，用于平衡大小不一的文件
+    private static final int CHUNKS_PER_WORKER = 4;
+    // 有界线程池（共享应用线程池，最多占用SCAN_PARALLELISM个线程）
+    private static final ExecutorService SCAN_EXECUTOR =
+        AppExecutorUtil.createBoundedApplicationPoolExecutor("DevToolkitPro Endpoint Scan", SCAN_PARALLELISM);
+    // 后台预热使用的单线程执行器，不与前台搜索争抢CPU
+    private static final ExecutorService WARMUP_EXECUTOR =
+        AppExecutorUtil.createBoundedApplicationPoolExecutor("DevToolkitPro Endpoint Warmup", 1);
+    
     private final List<RestfulEndpointScanStrategy> strategies;
     private final Project project;
     
@@ -64,8 +89,7 @@ public class RestfulEndpointStrategyManager {
             }
             
             // 如果上面失败，尝试检查核心Java类是否可用
-            Class.forName("com.intellij.psi.PsiJavaFile");
-            return true;
+            return OptionalPluginBridge.isJavaAvailable();
         } catch (Exception e) {
             return false;
         }
@@ -110,38 +134,102 @@ public class RestfulEndpointStrategyManager {
     }
     
     /**
-     * 使用最佳策略扫描端点
-     * 选择第一个适用的策略进行扫描
+     * 单次遍历扫描所有框架
+     * 汇总所有策略的候选文件，每个文件只加载一次PSI并分发给所有相关策略；
+     * 不支持按文件扫描的策略（如FastAPI）各自基于索引执行一次项目级扫描
      */
-    public List<RestfulEndpointNavigationItem> scanWithBestStrategy() {
-        List<RestfulEndpointScanStrategy> applicableStrategies = getApplicableStrategies();
+    public List<RestfulEndpointNavigationItem> scanAllFrameworks() {
+        List<RestfulEndpointScanStrategy> fileStrategies = getFileScanStrategies();
+        List<RestfulEndpointNavigationItem> allEndpoints = new ArrayList<>();
         
-        if (applicableStrategies.isEmpty()) {
-
-            return scanWithAllStrategies();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile file : collectCandidateFiles(fileStrategies)) {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                allEndpoints.addAll(scanFile(psiFile, fileStrategies));
+            }
         }
         
-        // 使用优先级最高的策略
-        RestfulEndpointScanStrategy bestStrategy = applicableStrategies.get(0);
-
+        allEndpoints.addAll(scanWithMultipleStrategies(getProjectScanStrategies()));
+        return deduplicateEndpoints(allEndpoints);
+    }
+    
+    /**
+     * 并行扫描候选文件
+     * 文件被切分为多个分片提交到有界线程池，每个分片在可被写操作打断并自动重启的非阻塞读操作中执行，
+     * 每个文件扫描前检查取消状态。必须在读操作之外调用
+     */
+    public List<FileScanResult> scanFilesInParallel(Collection<VirtualFile> files,
+                                                    List<RestfulEndpointScanStrategy> strategiesToUse) {
+        return scanFiles(files, strategiesToUse, SCAN_EXECUTOR, SCAN_PARALLELISM);
+    }
+    
+    /**
+     * 低优先级扫描候选文件（后台预热使用）
+     * 与scanFilesInParallel相同地分片执行，但所有分片在单个工作线程上依次运行。必须在读操作之外调用
+     */
+    public List<FileScanResult> scanFilesInBackground(Collection<VirtualFile> files,
+                                                      List<RestfulEndpointScanStrategy> strategiesToUse) {
+        return scanFiles(files, strategiesToUse, WARMUP_EXECUTOR, 1);
+    }
+    
+    private List<FileScanResult> scanFiles(Collection<VirtualFile> files, List<RestfulEndpointScanStrategy> strategiesToUse,
+                                           ExecutorService executor, int parallelism) {
+        List<VirtualFile> fileList = new ArrayList<>(files);
+        if (fileList.isEmpty()) {
+            return Collections.emptyList();
+        }
         
+        int chunkCount = Math.min(fileList.size(), parallelism * CHUNKS_PER_WORKER);
+        int chunkSize = (fileList.size() + chunkCount - 1) / chunkCount;
+        
+        List<CancellablePromise<List<FileScanResult>>> futures = new ArrayList<>();
+        for (int start = 0; start < fileList.size(); start += chunkSize) {
+            List<VirtualFile> chunk = fileList.subList(start, Math.min(start + chunkSize, fileList.size()));
+            futures.add(ReadAction.nonBlocking(() -> scanChunk(chunk, strategiesToUse))
+                .inSmartMode(project)
+                .submit(executor));
+        }
+        
+        List<FileScanResult> results = new ArrayList<>(fileList.size());
         try {
-            List<RestfulEndpointNavigationItem> endpoints = bestStrategy.scanEndpoints(project);
-            
-            // 如果最佳策略找到的端点较少，尝试其他策略补充
-            if (endpoints.size() < 3 && applicableStrategies.size() > 1) {
-
-                return scanWithMultipleStrategies(applicableStrategies);
+            for (CancellablePromise<List<FileScanResult>> future : futures) {
+                List<FileScanResult> chunkResults = ProgressIndicatorUtils.awaitWithCheckCanceled(future);
+                if (chunkResults != null) {
+                    results.addAll(chunkResults);
+                }
+            }
+        } catch (ProcessCanceledException e) {
+            for (CancellablePromise<List<FileScanResult>> future : futures) {
+                future.cancel();
+            }
+            throw e;
+        }
+        return results;
+    }
+    
+    /**
+     * 在读操作中扫描一个文件分片
+     */
+    private List<FileScanResult> scanChunk(List<VirtualFile> chunk, List<RestfulEndpointScanStrategy> strategiesToUse) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<FileScanResult> results = new ArrayList<>(chunk.size());
+        for (VirtualFile file : chunk) {
+            ProgressManager.checkCanceled();
+            if (!file.isValid()) {
+                continue;
+            }
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                results.add(new FileScanResult(file, psiFile.getModificationStamp(), scanFile(psiFile, strategiesToUse)));
             }
-            
-            return endpoints;
-        } catch (Exception e) {
-            return scanWithAllStrategies();
         }
+        return results;
     }
     
     /**
-     * 使用多个策略进行扫描
+     * 使用多个策略进行项目级扫描
      */
     public List<RestfulEndpointNavigationItem> scanWithMultipleStrategies(List<RestfulEndpointScanStrategy> strategiesToUse) {
         List<RestfulEndpointNavigationItem> allEndpoints = new ArrayList<>();
@@ -150,8 +238,10 @@ public class RestfulEndpointStrategyManager {
             try {
                 List<RestfulEndpointNavigationItem> endpoints = strategy.scanEndpoints(project);
                 allEndpoints.addAll(endpoints);
+            } catch (ProcessCanceledException e) {
+                throw e;
             } catch (Exception e) {
-                // Strategy failed, continue with next
+                LOG.warn(strategy.getStrategyName() + " strategy scan failed", e);
             }
         }
         
@@ -159,10 +249,89 @@ public class RestfulEndpointStrategyManager {
     }
     
     /**
-     * 使用所有策略进行扫描（回退方案）
+     * 汇总多个策略的候选文件（去重，保持顺序）
+     */
+    public Set<VirtualFile> collectCandidateFiles(List<RestfulEndpointScanStrategy> strategiesToUse) {
+        Set<VirtualFile> candidates = new LinkedHashSet<>();
+        for (RestfulEndpointScanStrategy strategy : strategiesToUse) {
+            try {
+                candidates.addAll(strategy.findCandidateFiles(project));
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                LOG.warn("Failed to collect candidate files for " + strategy.getStrategyName(), e);
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * 获取支持按文件扫描的策略
+     */
+    public List<RestfulEndpointScanStrategy> getFileScanStrategies() {
+        List<RestfulEndpointScanStrategy> result = new ArrayList<>();
+        for (RestfulEndpointScanStrategy strategy : strategies) {
+            if (strategy.supportsFileScan()) {
+                result.add(strategy);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 获取只能做项目级扫描的策略
+     */
+    public List<RestfulEndpointScanStrategy> getProjectScanStrategies() {
+        List<RestfulEndpointScanStrategy> result = new ArrayList<>();
+        for (RestfulEndpointScanStrategy strategy : strategies) {
+            if (!strategy.supportsFileScan()) {
+                result.add(strategy);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 检查文件是否与任一策略相关
      */
-    public List<RestfulEndpointNavigationItem> scanWithAllStrategies() {
-        return scanWithMultipleStrategies(strategies);
+    public boolean isCandidateFile(VirtualFile file) {
+        for (RestfulEndpointScanStrategy strategy : strategies) {
+            if (strategy.isCandidateFile(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 使用支持增量扫描的策略扫描单个文件
+     */
+    public List<RestfulEndpointNavigationItem> scanFile(PsiFile file, List<RestfulEndpointScanStrategy> strategiesToUse) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null) {
+            return Collections.emptyList();
+        }
+        
+        List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>();
+        for (RestfulEndpointScanStrategy strategy : strategiesToUse) {
+            if (strategy.supportsFileScan() && strategy.isCandidateFile(virtualFile)) {
+                try {
+                    endpoints.addAll(strategy.scanFile(project, file));
+                } catch (ProcessCanceledException e) {
+                    throw e;
+                } catch (Exception e) {
+                    LOG.warn(strategy.getStrategyName() + " strategy failed on " + virtualFile.getName(), e);
+                }
+            }
+        }
+        return endpoints;
+    }
+    
+    /**
+     * 获取所有策略（不检查适用性）
+     */
+    public List<RestfulEndpointScanStrategy> getAllStrategies() {
+        return Collections.unmodifiableList(strategies);
     }
     
     /**
@@ -200,23 +369,39 @@ public class RestfulEndpointStrategyManager {
     
     /**
      * 去重端点列表
+     * 端点按HTTP方法、路径、类名和方法名判断相等，相同的端点保留第一个（优先级高的策略找到的）
      */
-    private List<RestfulEndpointNavigationItem> deduplicateEndpoints(List<RestfulEndpointNavigationItem> endpoints) {
-        Map<String, RestfulEndpointNavigationItem> uniqueEndpoints = new LinkedHashMap<>();
+    public List<RestfulEndpointNavigationItem> deduplicateEndpoints(List<RestfulEndpointNavigationItem> endpoints) {
+        List<RestfulEndpointNavigationItem> result = new ArrayList<>(new LinkedHashSet<>(endpoints));
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+    
+    /**
+     * 单个文件的扫描结果
+     */
+    public static class FileScanResult {
+        private final VirtualFile file;
+        private final long modificationStamp;
+        private final List<RestfulEndpointNavigationItem> endpoints;
         
-        for (RestfulEndpointNavigationItem endpoint : endpoints) {
-            String key = endpoint.getHttpMethod() + ":" + endpoint.getPath() + ":" + 
-                        endpoint.getClassName() + "." + endpoint.getMethodName();
-            
-            // 如果已存在相同的端点，保留第一个（优先级高的策略找到的）
-            if (!uniqueEndpoints.containsKey(key)) {
-                uniqueEndpoints.put(key, endpoint);
-            }
+        public FileScanResult(VirtualFile file, long modificationStamp, List<RestfulEndpointNavigationItem> endpoints) {
+            this.file = file;
+            this.modificationStamp = modificationStamp;
+            this.endpoints = endpoints;
         }
         
-        List<RestfulEndpointNavigationItem> result = new ArrayList<>(uniqueEndpoints.values());
-        result.sort((a, b) -> a.getName().compareTo(b.getName()));
-        return result;
+        public VirtualFile getFile() {
+            return file;
+        }
+        
+        public long getModificationStamp() {
+            return modificationStamp;
+        }
+        
+        public List<RestfulEndpointNavigationItem> getEndpoints() {
+            return endpoints;
+        }
     }
     
     /**
@@ -1,8 +1,13 @@
 package com.devtoolkit.pro.strategies.impl;
 
+import com.devtoolkit.pro.index.FastApiFileRoutes;
+import com.devtoolkit.pro.index.FastApiRouteIndex;
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.devtoolkit.pro.strategies.CandidateFileFilter;
 import com.devtoolkit.pro.strategies.RestfulEndpointScanStrategy;
 import com.devtoolkit.pro.strategies.enhancements.FastApiEnhancedStrategy;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
@@ -23,6 +28,8 @@ import java.util.regex.Pattern;
  */
 public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy, FastApiEnhancedStrategy {
 
+    private static final Logger LOG = Logger.getInstance(FastApiEndpointScanStrategy.class);
+
     private static final String STRATEGY_NAME = "FastAPI";
     private static final int PRIORITY = 2; // 中等优先级
 
@@ -106,8 +113,6 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
         "description\\s*=\\s*[\"\"']([^\"\"']*)[\"\"']"
     );
 
-    private PsiManager psiManager;
-
     // === 增强的数据结构 ===
 
     // 路由器信息（增强版）
@@ -129,6 +134,9 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
         String httpMethod;
         String path;
         String functionName;
+        // 函数定义所在文件及偏移量（来自索引，用于导航）
+        VirtualFile file;
+        int offset = -1;
 
         // 增强属性
         String summary;
@@ -230,14 +238,8 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
                 return false;
             }
 
-            // 进一步检查Python PSI支持
-            try {
-                Class.forName("com.jetbrains.python.psi.PyFile");
-                return true;
-            } catch (ClassNotFoundException e) {
-                // Python插件不可用，但可以使用文本解析
-                return true;  // 返回true以支持文本解析模式
-            }
+            // Python插件不可用时仍返回true，使用文本解析模式
+            return true;
         } catch (Exception e) {
             return false;
         }
@@ -272,9 +274,19 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
                "fast-api".equalsIgnoreCase(frameworkName);
     }
 
+    @Override
+    public boolean isCandidateFile(VirtualFile file) {
+        return "py".equals(file.getExtension());
+    }
+
+    @Override
+    public Collection<VirtualFile> findCandidateFiles(Project project) {
+        // FastApiRouteIndex中有路由信息的文件
+        return FastApiRouteIndex.getContainingFiles(GlobalSearchScope.projectScope(project));
+    }
+
     @Override
     public List<RestfulEndpointNavigationItem> scanEndpoints(Project project) {
-        this.psiManager = PsiManager.getInstance(project);
         List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>();
 
         try {
@@ -282,8 +294,8 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
             Map<String, RouterInfo> allRouters = new HashMap<>();
             List<IncludeRelation> includeRelations = new ArrayList<>();
 
-            // 第一步：扫描Python文件，收集路由器定义和路由信息
-            collectRouterInfo(project, allRouters, includeRelations);
+            // 第一步：读取FastAPI路由索引，收集路由器定义和路由信息
+            collectRouterInfoFromIndex(project, allRouters, includeRelations);
 
             // 第二步：解析include关系，构建路由器树
             buildRouterTree(allRouters, includeRelations);
@@ -294,23 +306,69 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
             // 去重并排序
             return deduplicateAndSort(endpoints);
 
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("FastAPI strategy scan failed: " + e.getMessage());
-            e.printStackTrace();
+            LOG.warn("FastAPI strategy scan failed", e);
             return new ArrayList<>();
         }
     }
 
     /**
-     * 第一步：收集所有路由器信息和include关系
+     * 第一步：从FastApiRouteIndex收集所有路由器信息和include关系（不加载PSI）
+     */
+    private void collectRouterInfoFromIndex(Project project, Map<String, RouterInfo> allRouters,
+                                            List<IncludeRelation> includeRelations) {
+        try {
+            FastApiRouteIndex.processAllRoutes(GlobalSearchScope.projectScope(project), (file, routes) -> {
+                collectFromIndexedRoutes(file, routes, allRouters, includeRelations);
+                return true;
+            });
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("Failed to collect router info from index", e);
+        }
+    }
+
+    /**
+     * 按与文本扫描相同的顺序回放单个文件的索引数据
+     */
+    private void collectFromIndexedRoutes(VirtualFile file, FastApiFileRoutes routes,
+                                          Map<String, RouterInfo> allRouters,
+                                          List<IncludeRelation> includeRelations) {
+        for (String appName : routes.apps) {
+            allRouters.put(appName, new RouterInfo(appName));
+        }
+
+        for (FastApiFileRoutes.RouterDef routerDef : routes.routers) {
+            RouterInfo router = new RouterInfo(routerDef.name);
+            router.prefix = routerDef.prefix;
+            allRouters.put(routerDef.name, router);
+        }
+
+        for (FastApiFileRoutes.RouteDef routeDef : routes.routes) {
+            RouterInfo router = allRouters.computeIfAbsent(routeDef.instance, RouterInfo::new);
+            RouteEndpoint endpoint = new RouteEndpoint(routeDef.httpMethod, routeDef.path, routeDef.functionName);
+            endpoint.file = file;
+            endpoint.offset = routeDef.offset;
+            router.endpoints.add(endpoint);
+        }
+
+        for (FastApiFileRoutes.IncludeDef includeDef : routes.includes) {
+            includeRelations.add(new IncludeRelation(includeDef.parent, includeDef.child, includeDef.prefix));
+        }
+    }
+
+    /**
+     * 基于文件文本收集所有路由器信息和include关系（提取元数据时使用）
      */
     private void collectRouterInfo(Project project, Map<String, RouterInfo> allRouters,
                                  List<IncludeRelation> includeRelations) {
         try {
-            FileType pythonFileType = FileTypeManager.getInstance().getFileTypeByExtension("py");
-            if (pythonFileType == null) return;
-
-            Collection<VirtualFile> pythonFiles = FileTypeIndex.getFiles(pythonFileType,
+            PsiManager psiManager = PsiManager.getInstance(project);
+            // 只读取路由索引中有记录的文件
+            Collection<VirtualFile> pythonFiles = FastApiRouteIndex.getContainingFiles(
                 GlobalSearchScope.projectScope(project));
 
             for (VirtualFile virtualFile : pythonFiles) {
@@ -625,6 +683,8 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
                     for (RouteEndpoint endpoint : childRouter.endpoints) {
                         String newPath = combinePathWithPrefix(relation.prefix, endpoint.path);
                         RouteEndpoint newEndpoint = new RouteEndpoint(endpoint.httpMethod, newPath, endpoint.functionName);
+                        newEndpoint.file = endpoint.file;
+                        newEndpoint.offset = endpoint.offset;
                         router.endpoints.add(newEndpoint);
                     }
                 }
@@ -649,11 +709,17 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
                     // 使用增强的描述信息
                     String enhancedName = createEnhancedEndpointName(endpoint, fullPath);
 
-                    RestfulEndpointNavigationItem navigationItem = new RestfulEndpointNavigationItem(
-                        endpoint.httpMethod, fullPath, router.name, endpoint.functionName, null, project
-                    );
-
-
+                    RestfulEndpointNavigationItem navigationItem;
+                    if (endpoint.file != null && endpoint.offset >= 0) {
+                        navigationItem = new RestfulEndpointNavigationItem(
+                            endpoint.httpMethod, fullPath, router.name, endpoint.functionName,
+                            endpoint.file, endpoint.offset, project
+                        );
+                    } else {
+                        navigationItem = new RestfulEndpointNavigationItem(
+                            endpoint.httpMethod, fullPath, router.name, endpoint.functionName, null, project
+                        );
+                    }
 
                     endpoints.add(navigationItem);
                 }
@@ -762,6 +828,7 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
         try {
             VirtualFile baseDir = project.getBaseDir();
             if (baseDir == null) return false;
+            PsiManager psiManager = PsiManager.getInstance(project);
 
             // 检查requirements.txt
             VirtualFile requirementsFile = baseDir.findChild("requirements.txt");
@@ -797,46 +864,17 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
     }
 
     /**
-     * 检查项目是否有FastAPI导入
+     * 检查项目是否有FastAPI路由（查询路由索引，不读取文件内容）
      */
     private boolean hasFastApiImports(Project project) {
         try {
-            FileType pythonFileType = FileTypeManager.getInstance().getFileTypeByExtension("py");
-            if (pythonFileType == null) return false;
-
-            Collection<VirtualFile> pythonFiles = FileTypeIndex.getFiles(pythonFileType,
-                GlobalSearchScope.projectScope(project));
-
-            for (VirtualFile virtualFile : pythonFiles) {
-                PsiFile psiFile = psiManager.findFile(virtualFile);
-                if (psiFile != null) {
-                    if (hasFastApiImport(psiFile)) {
-                        return true;
-                    }
-                }
-            }
+            return !FastApiRouteIndex.getContainingFiles(GlobalSearchScope.projectScope(project)).isEmpty();
         } catch (Exception e) {
             // 忽略异常
         }
         return false;
     }
 
-    /**
-     * 检查Python文件是否有FastAPI导入
-     */
-    private boolean hasFastApiImport(PsiFile pyFile) {
-        try {
-            // 直接检查文件内容，不依赖Python PSI
-            String fileText = pyFile.getText();
-            return fileText.contains("from fastapi") ||
-                   fileText.contains("import fastapi") ||
-                   fileText.contains("FastAPI") ||
-                   fileText.contains("APIRouter");
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     /**
      * 从文本中查找装饰器后面的函数名
      */
@@ -865,11 +903,9 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
         Map<String, List<String>> dependencyMap = new HashMap<>();
 
         try {
-            FileType pythonFileType = FileTypeManager.getInstance().getFileTypeByExtension("py");
-            if (pythonFileType == null) return dependencyMap;
-
-            Collection<VirtualFile> pythonFiles = FileTypeIndex.getFiles(pythonFileType,
-                GlobalSearchScope.projectScope(project));
+            PsiManager psiManager = PsiManager.getInstance(project);
+            Collection<VirtualFile> pythonFiles = CandidateFileFilter.findFilesWithAnyWord(project,
+                GlobalSearchScope.projectScope(project), "py", "Depends");
 
             for (VirtualFile virtualFile : pythonFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
@@ -889,11 +925,9 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
         List<MiddlewareInfo> middlewareList = new ArrayList<>();
 
         try {
-            FileType pythonFileType = FileTypeManager.getInstance().getFileTypeByExtension("py");
-            if (pythonFileType == null) return middlewareList;
-
-            Collection<VirtualFile> pythonFiles = FileTypeIndex.getFiles(pythonFileType,
-                GlobalSearchScope.projectScope(project));
+            PsiManager psiManager = PsiManager.getInstance(project);
+            Collection<VirtualFile> pythonFiles = CandidateFileFilter.findFilesWithAnyWord(project,
+                GlobalSearchScope.projectScope(project), "py", "add_middleware");
 
             for (VirtualFile virtualFile : pythonFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
@@ -959,11 +993,9 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
         Map<String, ModelInfo> modelMap = new HashMap<>();
 
         try {
-            FileType pythonFileType = FileTypeManager.getInstance().getFileTypeByExtension("py");
-            if (pythonFileType == null) return modelMap;
-
-            Collection<VirtualFile> pythonFiles = FileTypeIndex.getFiles(pythonFileType,
-                GlobalSearchScope.projectScope(project));
+            PsiManager psiManager = PsiManager.getInstance(project);
+            Collection<VirtualFile> pythonFiles = CandidateFileFilter.findFilesWithAnyWord(project,
+                GlobalSearchScope.projectScope(project), "py", "BaseModel");
 
             for (VirtualFile virtualFile : pythonFiles) {
                 PsiFile psiFile = psiManager.findFile(virtualFile);
@@ -1047,15 +1079,8 @@ public class FastApiEndpointScanStrategy implements RestfulEndpointScanStrategy,
      * 去重并排序
      */
     private List<RestfulEndpointNavigationItem> deduplicateAndSort(List<RestfulEndpointNavigationItem> endpoints) {
-        Map<String, RestfulEndpointNavigationItem> uniqueEndpoints = new LinkedHashMap<>();
-
-        for (RestfulEndpointNavigationItem endpoint : endpoints) {
-            String key = endpoint.getHttpMethod() + ":" + endpoint.getPath() + ":" +
-                        endpoint.getClassName() + "." + endpoint.getMethodName();
-            uniqueEndpoints.put(key, endpoint);
-        }
-
-        List<RestfulEndpointNavigationItem> result = new ArrayList<>(uniqueEndpoints.values());
+        // 端点按HTTP方法、路径、类名和方法名判断相等，直接用作集合元素
+        List<RestfulEndpointNavigationItem> result = new ArrayList<>(new LinkedHashSet<>(endpoints));
         result.sort((a, b) -> a.getName().compareTo(b.getName()));
         return result;
     }
@@ -1,14 +1,16 @@
 package com.devtoolkit.pro.strategies.impl;
 
+import com.devtoolkit.pro.index.RestfulMappingIndex;
+import com.devtoolkit.pro.index.RestfulMappingRecord;
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
 import com.devtoolkit.pro.strategies.RestfulEndpointScanStrategy;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.openapi.fileTypes.FileType;
-import com.intellij.openapi.fileTypes.FileTypeManager;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -20,6 +22,8 @@ import java.util.regex.Pattern;
  */
 public class JaxRsEndpointScanStrategy implements RestfulEndpointScanStrategy {
     
+    private static final Logger LOG = Logger.getInstance(JaxRsEndpointScanStrategy.class);
+
     private static final String STRATEGY_NAME = "JAX-RS";
     private static final int PRIORITY = 3; // 较低优先级
     
@@ -39,8 +43,6 @@ public class JaxRsEndpointScanStrategy implements RestfulEndpointScanStrategy {
     // URL路径提取正则
     private static final Pattern PATH_VALUE_PATTERN = Pattern.compile("\"([^\"]*)\"");
     
-    private PsiManager psiManager;
-    
     @Override
     public String getStrategyName() {
         return STRATEGY_NAME;
@@ -66,18 +68,49 @@ public class JaxRsEndpointScanStrategy implements RestfulEndpointScanStrategy {
     
     @Override
     public List<RestfulEndpointNavigationItem> scanEndpoints(Project project) {
-        this.psiManager = PsiManager.getInstance(project);
         List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>();
         
         try {
             scanJavaFiles(project, endpoints);
             return deduplicateAndSort(endpoints);
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
             System.err.println("JAX-RS strategy scan failed: " + e.getMessage());
             return new ArrayList<>();
         }
     }
     
+    @Override
+    public boolean supportsFileScan() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCandidateFile(VirtualFile file) {
+        return "java".equals(file.getExtension());
+    }
+    
+    @Override
+    public Collection<VirtualFile> findCandidateFiles(Project project) {
+        return RestfulMappingIndex.getContainingFiles(project, GlobalSearchScope.projectScope(project));
+    }
+    
+    @Override
+    public List<RestfulEndpointNavigationItem> scanFile(Project project, PsiFile file) {
+        List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>();
+        if (file instanceof PsiJavaFile) {
+            try {
+                scanIndexedJavaFile((PsiJavaFile) file, endpoints, project);
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                LOG.warn("JAX-RS strategy file scan failed for " + file.getName(), e);
+            }
+        }
+        return endpoints;
+    }
+    
     /**
      * 检查项目是否有JAX-RS依赖
      */
@@ -108,21 +141,42 @@ public class JaxRsEndpointScanStrategy implements RestfulEndpointScanStrategy {
      */
     private void scanJavaFiles(Project project, List<RestfulEndpointNavigationItem> endpoints) {
         try {
-            FileType javaFileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            Collection<VirtualFile> javaFiles = FileTypeIndex.getFiles(javaFileType, 
+            // 只查询映射注解索引中的文件
+            Collection<VirtualFile> javaFiles = RestfulMappingIndex.getContainingFiles(project,
                 GlobalSearchScope.projectScope(project));
 
+            PsiManager psiManager = PsiManager.getInstance(project);
             for (VirtualFile virtualFile : javaFiles) {
+                ProgressManager.checkCanceled();
                 PsiFile psiFile = psiManager.findFile(virtualFile);
                 if (psiFile instanceof PsiJavaFile) {
-                    scanJavaFile((PsiJavaFile) psiFile, endpoints, project);
+                    scanIndexedJavaFile((PsiJavaFile) psiFile, endpoints, project);
                 }
             }
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
             System.err.println("Failed to scan Java files for JAX-RS: " + e.getMessage());
         }
     }
     
+    /**
+     * 通过映射注解索引扫描Java文件，直接由索引记录生成端点
+     */
+    private void scanIndexedJavaFile(PsiJavaFile javaFile, List<RestfulEndpointNavigationItem> endpoints, Project project) {
+        VirtualFile virtualFile = javaFile.getVirtualFile();
+        if (virtualFile == null) {
+            scanJavaFile(javaFile, endpoints, project);
+            return;
+        }
+
+        for (RestfulMappingRecord record : RestfulMappingIndex.getRecords(project, virtualFile,
+                RestfulMappingRecord.FRAMEWORK_JAXRS)) {
+            endpoints.add(new RestfulEndpointNavigationItem(record.getHttpMethod(), record.buildFullPath(),
+                    record.getClassName(), record.getMethodName(), virtualFile, record.getOffset(), project));
+        }
+    }
+    
     /**
      * 扫描单个Java文件
      */
@@ -296,11 +350,11 @@ public class JaxRsEndpointScanStrategy implements RestfulEndpointScanStrategy {
         List<PsiClass> classes = new ArrayList<>();
         
         try {
-            FileType javaFileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            Collection<VirtualFile> javaFiles = FileTypeIndex.getFiles(javaFileType, scope);
+            Collection<VirtualFile> javaFiles = RestfulMappingIndex.getContainingFiles(project, scope);
+            PsiManager manager = PsiManager.getInstance(project);
 
             for (VirtualFile virtualFile : javaFiles) {
-                PsiFile psiFile = psiManager.findFile(virtualFile);
+                PsiFile psiFile = manager.findFile(virtualFile);
                 if (psiFile instanceof PsiJavaFile) {
                     PsiClass[] fileClasses = ((PsiJavaFile) psiFile).getClasses();
                     for (PsiClass psiClass : fileClasses) {
@@ -335,15 +389,8 @@ public class JaxRsEndpointScanStrategy implements RestfulEndpointScanStrategy {
      * 去重并排序
      */
     private List<RestfulEndpointNavigationItem> deduplicateAndSort(List<RestfulEndpointNavigationItem> endpoints) {
-        Map<String, RestfulEndpointNavigationItem> uniqueEndpoints = new LinkedHashMap<>();
-        
-        for (RestfulEndpointNavigationItem endpoint : endpoints) {
-            String key = endpoint.getHttpMethod() + ":" + endpoint.getPath() + ":" + 
-                        endpoint.getClassName() + "." + endpoint.getMethodName();
-            uniqueEndpoints.put(key, endpoint);
-        }
-        
-        List<RestfulEndpointNavigationItem> result = new ArrayList<>(uniqueEndpoints.values());
+        // 端点按HTTP方法、路径、类名和方法名判断相等，直接用作集合元素
+        List<RestfulEndpointNavigationItem> result = new ArrayList<>(new LinkedHashSet<>(endpoints));
         result.sort((a, b) -> a.getName().compareTo(b.getName()));
         return result;
     }
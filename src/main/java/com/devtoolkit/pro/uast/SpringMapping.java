@@ -0,0 +1,70 @@
+package com.devtoolkit.pro.uast;
+
+import com.intellij.psi.PsiMethod;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 方法上的一个Spring映射注解（Java和Kotlin统一表示）
+ */
+public final class SpringMapping {
+
+    private final String httpMethod;
+    // 包含类级别前缀的完整路径，以/开头
+    private final String path;
+    private final String className;
+    private final String methodName;
+    // Java方法或Kotlin light方法，用于导航
+    private final PsiMethod method;
+    // 所在类是否带有@RestController/@Controller/@RequestMapping
+    private final boolean controller;
+    // 注解名称叶子元素的起始偏移（行标记锚点）
+    private final int nameOffset;
+    // 注解结束偏移（Inlay提示插入位置）
+    private final int annotationEndOffset;
+
+    SpringMapping(@NotNull String httpMethod, @NotNull String path, @Nullable String className,
+                  @Nullable String methodName, @Nullable PsiMethod method, boolean controller,
+                  int nameOffset, int annotationEndOffset) {
+        this.httpMethod = httpMethod;
+        this.path = path;
+        this.className = className;
+        this.methodName = methodName;
+        this.method = method;
+        this.controller = controller;
+        this.nameOffset = nameOffset;
+        this.annotationEndOffset = annotationEndOffset;
+    }
+
+    public @NotNull String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public @NotNull String getPath() {
+        return path;
+    }
+
+    public @Nullable String getClassName() {
+        return className;
+    }
+
+    public @Nullable String getMethodName() {
+        return methodName;
+    }
+
+    public @Nullable PsiMethod getMethod() {
+        return method;
+    }
+
+    public boolean isController() {
+        return controller;
+    }
+
+    public int getNameOffset() {
+        return nameOffset;
+    }
+
+    public int getAnnotationEndOffset() {
+        return annotationEndOffset;
+    }
+}
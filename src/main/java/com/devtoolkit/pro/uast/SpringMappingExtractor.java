@@ -0,0 +1,196 @@
+package com.devtoolkit.pro.uast;
+
+import com.devtoolkit.pro.services.ConstantResolver;
+import com.intellij.lang.Language;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.uast.UAnchorOwner;
+import org.jetbrains.uast.UAnnotation;
+import org.jetbrains.uast.UCallExpression;
+import org.jetbrains.uast.UClass;
+import org.jetbrains.uast.UExpression;
+import org.jetbrains.uast.UFile;
+import org.jetbrains.uast.UIdentifier;
+import org.jetbrains.uast.UMethod;
+import org.jetbrains.uast.UastContextKt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于UAST的Spring映射提取
+ * 用同一套UClass/UMethod/UAnnotation逻辑处理Java和Kotlin，路径中的常量由ConstantResolver求值。
+ * 结果按文件缓存，端点扫描、行标记和Inlay提示共用同一份
+ */
+public final class SpringMappingExtractor {
+
+    private static final Key<CachedValue<List<SpringMapping>>> MAPPINGS_KEY = Key.create("devtoolkit.springMappings");
+
+    // 映射注解短名 -> HTTP方法，@RequestMapping默认为GET
+    private static final Map<String, String> MAPPING_ANNOTATIONS = Map.of(
+        "GetMapping", "GET",
+        "PostMapping", "POST",
+        "PutMapping", "PUT",
+        "DeleteMapping", "DELETE",
+        "PatchMapping", "PATCH",
+        "RequestMapping", "GET"
+    );
+
+    private static final Set<String> CONTROLLER_ANNOTATIONS = Set.of("RestController", "Controller", "RequestMapping");
+
+    private SpringMappingExtractor() {
+    }
+
+    /**
+     * 文件中所有方法级映射注解，按源码顺序；文件或Java/Kotlin代码修改后重新计算
+     */
+    public static @NotNull List<SpringMapping> getMappings(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, MAPPINGS_KEY, () -> CachedValueProvider.Result.create(
+            computeMappings(file),
+            file,
+            PsiModificationTracker.getInstance(file.getProject()).forLanguages(SpringMappingExtractor::isJvmLanguage)
+        ));
+    }
+
+    private static boolean isJvmLanguage(@NotNull Language language) {
+        return language.isKindOf(JavaLanguage.INSTANCE) || "kotlin".equals(language.getID());
+    }
+
+    private static @NotNull List<SpringMapping> computeMappings(@NotNull PsiFile file) {
+        // 没有对应语言的UAST插件（如Kotlin插件未启用）时无法转换
+        UFile uFile = UastContextKt.toUElement(file, UFile.class);
+        if (uFile == null) {
+            return Collections.emptyList();
+        }
+        ConstantResolver resolver = ConstantResolver.getInstance(file.getProject());
+        List<SpringMapping> mappings = new ArrayList<>();
+        for (UClass uClass : uFile.getClasses()) {
+            collectClass(uClass, resolver, mappings);
+        }
+        return Collections.unmodifiableList(mappings);
+    }
+
+    private static void collectClass(@NotNull UClass uClass, @NotNull ConstantResolver resolver,
+                                     @NotNull List<SpringMapping> mappings) {
+        ProgressManager.checkCanceled();
+
+        // 类级别路径每个类只求值一次
+        String classPath = "";
+        boolean controller = false;
+        for (UAnnotation annotation : uClass.getUAnnotations()) {
+            String name = getShortName(annotation);
+            if (CONTROLLER_ANNOTATIONS.contains(name)) {
+                controller = true;
+            }
+            if ("RequestMapping".equals(name)) {
+                classPath = extractPath(annotation, resolver);
+            }
+        }
+
+        for (UMethod method : uClass.getMethods()) {
+            for (UAnnotation annotation : method.getUAnnotations()) {
+                String httpMethod = MAPPING_ANNOTATIONS.get(getShortName(annotation));
+                PsiElement source = annotation.getSourcePsi();
+                if (httpMethod == null || source == null) {
+                    continue;
+                }
+                String path = combinePaths(classPath, extractPath(annotation, resolver));
+                mappings.add(new SpringMapping(httpMethod, path, uClass.getName(), method.getName(),
+                        method.getJavaPsi(), controller, getNameOffset(annotation, source),
+                        source.getTextRange().getEndOffset()));
+            }
+        }
+
+        for (UClass innerClass : uClass.getInnerClasses()) {
+            collectClass(innerClass, resolver, mappings);
+        }
+    }
+
+    /**
+     * 注解短名：优先取源码中的名称，避免解析注解类
+     */
+    private static @Nullable String getShortName(@NotNull UAnnotation annotation) {
+        UIdentifier anchor = getAnchor(annotation);
+        if (anchor != null && anchor.getName() != null) {
+            return anchor.getName();
+        }
+        String qualifiedName = annotation.getQualifiedName();
+        return qualifiedName != null ? StringUtil.getShortName(qualifiedName) : null;
+    }
+
+    private static int getNameOffset(@NotNull UAnnotation annotation, @NotNull PsiElement source) {
+        UIdentifier anchor = getAnchor(annotation);
+        PsiElement name = anchor != null ? anchor.getSourcePsi() : null;
+        return PsiTreeUtil.getDeepestLast(name != null ? name : source).getTextRange().getStartOffset();
+    }
+
+    private static @Nullable UIdentifier getAnchor(@NotNull UAnnotation annotation) {
+        return annotation instanceof UAnchorOwner ? ((UAnchorOwner) annotation).getUastAnchor() : null;
+    }
+
+    /**
+     * 注解的value/path属性，数组形式取第一个元素，没有或无法求值时返回空串
+     */
+    private static @NotNull String extractPath(@NotNull UAnnotation annotation, @NotNull ConstantResolver resolver) {
+        UExpression value = annotation.findDeclaredAttributeValue("value");
+        if (value == null) {
+            value = annotation.findDeclaredAttributeValue("path");
+        }
+        // Java的{"/a", "/b"}、Kotlin的["/a"]和vararg参数都表示为调用表达式
+        if (value instanceof UCallExpression) {
+            List<UExpression> arguments = ((UCallExpression) value).getValueArguments();
+            value = arguments.isEmpty() ? null : arguments.get(0);
+        }
+        if (value == null) {
+            return "";
+        }
+        Object constant = resolver.evaluate(value.getSourcePsi());
+        if (constant == null) {
+            constant = value.evaluate();
+        }
+        return constant != null ? constant.toString() : "";
+    }
+
+    /**
+     * 合并类级别路径和方法路径，保证以/开头并去掉重复的/；方法路径为空时即为类级别路径
+     */
+    static @NotNull String combinePaths(@NotNull String classPath, @NotNull String methodPath) {
+        if (methodPath.isEmpty()) {
+            return classPath.isEmpty() ? "/" : collapseSlashes(withLeadingSlash(classPath));
+        }
+        String prefix = classPath.isEmpty() ? "" : withLeadingSlash(classPath);
+        return collapseSlashes(prefix + withLeadingSlash(methodPath));
+    }
+
+    private static @NotNull String withLeadingSlash(@NotNull String path) {
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static @NotNull String collapseSlashes(@NotNull String path) {
+        if (!path.contains("//")) {
+            return path;
+        }
+        StringBuilder result = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c != '/' || result.length() == 0 || result.charAt(result.length() - 1) != '/') {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -1,15 +1,32 @@
 package com.devtoolkit.pro.ui;
 
-import com.devtoolkit.pro.services.RestfulUrlService;
+import com.devtoolkit.pro.services.RestfulEndpointCatalogService;
 import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.devtoolkit.pro.search.AbbreviationIndex;
+import com.devtoolkit.pro.search.FuzzySearchCorpus;
+import com.devtoolkit.pro.search.SearchSession;
+import com.devtoolkit.pro.search.TypoTolerantIndex;
 import com.devtoolkit.pro.utils.FuzzySearchUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.wm.IdeFocusManager;
+import com.intellij.ui.ColoredListCellRenderer;
 import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.SimpleTextAttributes;
 import com.intellij.ui.components.JBList;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.components.JBTextField;
+import com.intellij.ui.speedSearch.SpeedSearchUtil;
+import com.intellij.util.Alarm;
+import com.intellij.util.Processor;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,30 +38,55 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * RESTful URL搜索对话框
+ * 端点在后台加载（尚未扫描时边扫描边显示），输入经过防抖后在后台搜索，
+ * 过期的搜索会被取消，结果列表按差异增量更新
  */
 public class SearchDialog extends DialogWrapper {
+    private static final Logger LOG = Logger.getInstance(SearchDialog.class);
+
+    // 列表最多显示的搜索结果数
+    private static final int MAX_RESULTS = 500;
+    // 输入停止多久后开始搜索（毫秒）
+    private static final int SEARCH_DELAY_MS = 100;
+    // 边扫描边显示时每批推送的端点数
+    private static final int LOAD_BATCH_SIZE = 200;
+    private static final Color GET_COLOR = new Color(0, 128, 0);
+    private static final Color POST_COLOR = new Color(255, 140, 0);
+    private static final Color PUT_COLOR = new Color(0, 0, 255);
+    private static final Color DELETE_COLOR = new Color(255, 0, 0);
+
     private final Project project;
     private JBTextField searchField;
-    private JBList<String> resultList;
-    private DefaultListModel<String> listModel;
-    private RestfulUrlService urlService;
-    private List<String> allUrls;
-    private List<RestfulEndpointNavigationItem> allEndpoints;
+    // 列表元素为端点下标（与SearchData.endpoints一致），路径相同的端点仍各占一行
+    private JBList<Integer> resultList;
+    private DefaultListModel<Integer> listModel;
+    private final Alarm searchAlarm;
+    // 端点加载完成后才可搜索，仅在EDT上读写
+    private SearchData searchData;
+    // 列表中各下标对应的端点：加载过程中逐批追加，加载完成后为SearchData.endpoints，仅在EDT上读写
+    private List<RestfulEndpointNavigationItem> rowEndpoints = new ArrayList<>();
+    // 当前结果的匹配区间，仅在EDT上读写
+    private Map<Integer, List<TextRange>> matchRanges = Collections.emptyMap();
 
     public SearchDialog(Project project) {
         super(project, true);
         this.project = project;
-        this.urlService = new RestfulUrlService(project);
+        this.searchAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, getDisposable());
         
         setTitle("Search RESTful URLs");
         setModal(false);
         init();
         
-        // 加载所有URL
+        // 在后台加载所有URL
         loadUrls();
         
         // 设置焦点到搜索框
@@ -73,11 +115,12 @@ public class SearchDialog extends DialogWrapper {
         JBScrollPane scrollPane = new JBScrollPane(resultList);
         scrollPane.setPreferredSize(new Dimension(580, 350));
 
-        // 添加搜索监听器
+        // 添加搜索监听器：输入停止后再搜索
         searchField.getDocument().addDocumentListener(new DocumentAdapter() {
             @Override
             protected void textChanged(@NotNull DocumentEvent e) {
-                performSearch();
+                searchAlarm.cancelAllRequests();
+                searchAlarm.addRequest(this::performSearch, SEARCH_DELAY_MS);
             }
         });
 
@@ -106,31 +149,125 @@ public class SearchDialog extends DialogWrapper {
     }
 
     private void loadUrls() {
-        // 使用新的端点扫描方法，支持常量解析
-        allEndpoints = urlService.findAllRestfulEndpoints();
-        allUrls = new ArrayList<>();
-        for (RestfulEndpointNavigationItem endpoint : allEndpoints) {
-            allUrls.add(endpoint.getName()); // getName()返回"HTTP_METHOD path"格式
+        resultList.getEmptyText().setText("Loading RESTful URLs...");
+        ModalityState modality = ModalityState.stateForComponent(resultList);
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                List<RestfulEndpointNavigationItem> endpoints = collectEndpoints(modality);
+                // 索引在后台构建，之后每次输入只做查找和评分
+                SearchData data = new SearchData(endpoints);
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    searchData = data;
+                    rowEndpoints = data.endpoints;
+                    resultList.getEmptyText().setText("No RESTful URLs found");
+                    performSearch();
+                }, modality, o -> isDisposed());
+            } catch (ProcessCanceledException e) {
+                // 对话框已关闭
+            } catch (Exception e) {
+                LOG.error("Error loading RESTful URLs", e);
+            }
+        });
+    }
+
+    /**
+     * 收集端点：已完成首次扫描时直接读取目录快照（避免每次打开对话框都重新扫描），
+     * 否则边扫描边把结果分批显示到列表中
+     */
+    private List<RestfulEndpointNavigationItem> collectEndpoints(ModalityState modality) {
+        RestfulEndpointCatalogService catalog = RestfulEndpointCatalogService.getInstance(project);
+        if (catalog.isWarm()) {
+            return catalog.getEndpoints();
         }
-        updateResultList(allUrls);
+
+        // 读操作被写操作打断后会重新执行，用集合去重；下标按发现顺序分配，与之后构建的SearchData一致
+        Set<RestfulEndpointNavigationItem> found = new LinkedHashSet<>();
+        List<RestfulEndpointNavigationItem> batch = new ArrayList<>();
+        Processor<RestfulEndpointNavigationItem> collector = endpoint -> {
+            ProgressManager.checkCanceled();
+            if (found.add(endpoint)) {
+                batch.add(endpoint);
+                if (batch.size() >= LOAD_BATCH_SIZE) {
+                    publishLoaded(new ArrayList<>(batch), modality);
+                    batch.clear();
+                }
+            }
+            return true;
+        };
+        // 非阻塞读操作遇到写操作时自动重新执行，对话框关闭后取消
+        ReadAction.nonBlocking(() -> catalog.processEndpoints(collector))
+                .expireWith(getDisposable())
+                .executeSynchronously();
+        return new ArrayList<>(found);
     }
 
+    /**
+     * 加载过程中查询为空时，把新发现的端点追加到列表
+     */
+    private void publishLoaded(List<RestfulEndpointNavigationItem> endpoints, ModalityState modality) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (searchData != null) {
+                return;
+            }
+            int firstId = rowEndpoints.size();
+            rowEndpoints.addAll(endpoints);
+            if (!searchField.getText().trim().isEmpty()) {
+                return;
+            }
+            // 查询为空时列表按发现顺序显示，新一批的下标紧接在已显示的之后
+            int available = Math.min(MAX_RESULTS - listModel.getSize(), endpoints.size());
+            if (available > 0 && listModel.getSize() == firstId) {
+                List<Integer> ids = new ArrayList<>(available);
+                for (int i = 0; i < available; i++) {
+                    ids.add(firstId + i);
+                }
+                listModel.addAll(ids);
+                if (resultList.getSelectedIndex() < 0) {
+                    resultList.setSelectedIndex(0);
+                }
+            }
+        }, modality, o -> isDisposed());
+    }
+
+    /**
+     * 在后台执行搜索；新的搜索开始时取消尚未完成的旧搜索
+     */
     private void performSearch() {
-        String query = searchField.getText().trim();
-        if (query.isEmpty()) {
-            updateResultList(allUrls);
-        } else {
-            List<String> filteredUrls = FuzzySearchUtil.fuzzySearch(allUrls, query);
-            updateResultList(filteredUrls);
+        SearchData data = searchData;
+        if (data == null) {
+            return;
         }
+        String query = searchField.getText().trim();
+        ReadAction.nonBlocking(() -> data.search(query))
+                .coalesceBy(this)
+                .expireWith(getDisposable())
+                .finishOnUiThread(ModalityState.stateForComponent(resultList), this::updateResultList)
+                .submit(AppExecutorUtil.getAppExecutorService());
     }
 
-    private void updateResultList(List<String> urls) {
-        listModel.clear();
-        for (String url : urls) {
-            listModel.addElement(url);
+    /**
+     * 增量更新列表：保留与新结果相同的前缀，只替换其后的部分，并尽量保持选中项
+     */
+    private void updateResultList(SearchResult result) {
+        List<Integer> urls = result.ids;
+        matchRanges = result.matchRanges;
+        Integer selected = resultList.getSelectedValue();
+        int oldSize = listModel.getSize();
+        int common = 0;
+        while (common < oldSize && common < urls.size() && listModel.get(common).equals(urls.get(common))) {
+            common++;
         }
-        if (!urls.isEmpty()) {
+        if (common < oldSize) {
+            listModel.removeRange(common, oldSize - 1);
+        }
+        if (common < urls.size()) {
+            listModel.addAll(urls.subList(common, urls.size()));
+        }
+
+        int selectedIndex = selected != null ? urls.indexOf(selected) : -1;
+        if (selectedIndex >= 0) {
+            resultList.setSelectedIndex(selectedIndex);
+        } else if (!urls.isEmpty()) {
             resultList.setSelectedIndex(0);
         }
     }
@@ -167,9 +304,9 @@ public class SearchDialog extends DialogWrapper {
     }
 
     private void navigateToSelectedUrl() {
-        String selectedUrl = resultList.getSelectedValue();
-        if (selectedUrl != null) {
-            urlService.navigateToUrl(selectedUrl);
+        Integer selected = resultList.getSelectedValue();
+        if (selected != null && selected < rowEndpoints.size()) {
+            rowEndpoints.get(selected).navigate(true);
             close(OK_EXIT_CODE);
         }
     }
@@ -179,33 +316,123 @@ public class SearchDialog extends DialogWrapper {
         return new Action[]{getCancelAction()};
     }
 
+    /**
+     * 加载完成的端点及其搜索索引
+     * 搜索会话和语料非线程安全，被取消的旧搜索可能仍在执行，因此搜索时加锁
+     */
+    private static final class SearchData {
+        private final List<RestfulEndpointNavigationItem> endpoints;
+        // 各端点的显示文本（路径），下标与endpoints一致
+        private final List<String> allUrls = new ArrayList<>();
+        private final FuzzySearchCorpus<String> corpus;
+        // 输入延长查询时只在上一次的匹配结果中继续查找
+        private final SearchSession<String> searchSession = new SearchSession<>();
+        // 路径段拼写容错索引，下标与allUrls一致
+        private final TypoTolerantIndex typoIndex = new TypoTolerantIndex();
+        // 路径段首字母和驼峰缩写索引，下标与allUrls一致
+        private final AbbreviationIndex abbreviationIndex = new AbbreviationIndex();
+
+        private SearchData(List<RestfulEndpointNavigationItem> endpoints) {
+            this.endpoints = endpoints;
+            for (RestfulEndpointNavigationItem endpoint : endpoints) {
+                typoIndex.add(allUrls.size(), endpoint.getPath());
+                abbreviationIndex.add(allUrls.size(), endpoint.getPath(), endpoint.getClassName(), endpoint.getMethodName());
+                allUrls.add(endpoint.getName()); // getName()返回路径
+            }
+            corpus = new FuzzySearchCorpus<>(allUrls, url -> url);
+        }
+
+        private synchronized SearchResult search(String query) {
+            if (query.isEmpty()) {
+                int count = Math.min(allUrls.size(), MAX_RESULTS);
+                List<Integer> ids = new ArrayList<>(count);
+                for (int id = 0; id < count; id++) {
+                    ids.add(id);
+                }
+                return new SearchResult(ids, Collections.emptyMap());
+            }
+            // 明确的缩写形式（u/o/i、UC.get）的结果排在最前，其次是模糊匹配；
+            // 纯小写查询的首字母缩写结果排在模糊匹配之后，结果不足时追加路径段拼写容错的结果。
+            // 按下标合并，路径相同的不同端点（如GET和POST /users）分别保留
+            Set<Integer> merged = new LinkedHashSet<>();
+            boolean explicitAbbreviation = AbbreviationIndex.isExplicitAbbreviation(query);
+            if (explicitAbbreviation) {
+                addAll(merged, abbreviationIndex.search(query, MAX_RESULTS));
+            }
+            ProgressManager.checkCanceled();
+            int[] fuzzy = searchSession.searchIndices(corpus, query, MAX_RESULTS);
+            if (fuzzy != null) {
+                addAll(merged, fuzzy);
+            }
+            ProgressManager.checkCanceled();
+            if (!explicitAbbreviation && merged.size() < MAX_RESULTS) {
+                addAll(merged, abbreviationIndex.search(query, MAX_RESULTS - merged.size()));
+            }
+            if (merged.size() < MAX_RESULTS) {
+                addAll(merged, typoIndex.search(query, MAX_RESULTS - merged.size()));
+            }
+            // 只为显示的结果计算一次匹配区间
+            Map<Integer, List<TextRange>> ranges = new HashMap<>();
+            for (int id : merged) {
+                ranges.put(id, FuzzySearchUtil.matchRanges(allUrls.get(id), query));
+            }
+            return new SearchResult(new ArrayList<>(merged), ranges);
+        }
+
+        private void addAll(Set<Integer> merged, int[] indexes) {
+            for (int index : indexes) {
+                if (merged.size() >= MAX_RESULTS) {
+                    break;
+                }
+                merged.add(index);
+            }
+        }
+    }
+
+    /**
+     * 一次搜索的结果（端点下标）及其匹配区间
+     */
+    private static final class SearchResult {
+        private final List<Integer> ids;
+        private final Map<Integer, List<TextRange>> matchRanges;
+
+        private SearchResult(List<Integer> ids, Map<Integer, List<TextRange>> matchRanges) {
+            this.ids = ids;
+            this.matchRanges = matchRanges;
+        }
+    }
+
     /**
      * 自定义列表单元格渲染器
+     * 按HTTP方法着色，匹配区间加粗显示；区间在后台搜索时已经计算好，绘制时不解析HTML
      */
-    private static class UrlListCellRenderer extends DefaultListCellRenderer {
+    private class UrlListCellRenderer extends ColoredListCellRenderer<Integer> {
         @Override
-        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
-                                                      boolean isSelected, boolean cellHasFocus) {
-            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-            
-            if (value instanceof String) {
-                String url = (String) value;
-                setText(url);
-                setToolTipText(url);
-                
-                // 设置不同HTTP方法的颜色
-                if (url.contains("GET")) {
-                    setForeground(isSelected ? Color.WHITE : new Color(0, 128, 0));
-                } else if (url.contains("POST")) {
-                    setForeground(isSelected ? Color.WHITE : new Color(255, 140, 0));
-                } else if (url.contains("PUT")) {
-                    setForeground(isSelected ? Color.WHITE : new Color(0, 0, 255));
-                } else if (url.contains("DELETE")) {
-                    setForeground(isSelected ? Color.WHITE : new Color(255, 0, 0));
-                }
+        protected void customizeCellRenderer(@NotNull JList<? extends Integer> list, Integer id, int index,
+                                             boolean selected, boolean hasFocus) {
+            if (id == null || id >= rowEndpoints.size()) {
+                return;
+            }
+            RestfulEndpointNavigationItem endpoint = rowEndpoints.get(id);
+            String url = endpoint.getName();
+            setToolTipText(url);
+
+            // 设置不同HTTP方法的颜色
+            Color color = null;
+            String httpMethod = endpoint.getHttpMethod();
+            if ("GET".equalsIgnoreCase(httpMethod)) {
+                color = GET_COLOR;
+            } else if ("POST".equalsIgnoreCase(httpMethod)) {
+                color = POST_COLOR;
+            } else if ("PUT".equalsIgnoreCase(httpMethod)) {
+                color = PUT_COLOR;
+            } else if ("DELETE".equalsIgnoreCase(httpMethod)) {
+                color = DELETE_COLOR;
             }
-            
-            return this;
+            Color foreground = selected ? Color.WHITE : color;
+            SpeedSearchUtil.appendColoredFragments(this, url, matchRanges.getOrDefault(id, Collections.emptyList()),
+                    new SimpleTextAttributes(SimpleTextAttributes.STYLE_PLAIN, foreground),
+                    new SimpleTextAttributes(SimpleTextAttributes.STYLE_BOLD, foreground));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,238 @@
+package com.devtoolkit.pro.utils;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 可选插件（Java、Kotlin、Python、Database）PSI的反射访问桥
+ * 类、无参方法、单参数静态方法和公共字段只查找一次并缓存为MethodHandle，之后每次调用只是一次直接invoke；插件不存在或方法不存在时返回null
+ */
+public final class OptionalPluginBridge {
+
+    public static final String JAVA_FILE_CLASS = "com.intellij.psi.PsiJavaFile";
+    public static final String KOTLIN_FILE_CLASS = "org.jetbrains.kotlin.psi.KtFile";
+    public static final String PYTHON_FILE_CLASS = "com.jetbrains.python.psi.PyFile";
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // 类名 -> 类，插件不存在时为Optional.empty()
+    private static final Map<String, Optional<Class<?>>> CLASSES = new ConcurrentHashMap<>();
+
+    // 运行时类 -> (方法名 -> 方法句柄)，方法不存在时为Optional.empty()
+    private static final ClassValue<Map<String, Optional<MethodHandle>>> GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // "类名#方法名(参数类名)" -> 单参数静态方法句柄，类或方法不存在时为Optional.empty()
+    private static final Map<String, Optional<MethodHandle>> STATIC_METHODS = new ConcurrentHashMap<>();
+
+    // 运行时类 -> (字段名 -> 字段读取句柄)
+    private static final ClassValue<Map<String, Optional<MethodHandle>>> FIELD_GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private OptionalPluginBridge() {
+    }
+
+    /**
+     * 按名称查找可选插件中的类，不存在时返回null
+     */
+    public static @Nullable Class<?> findClass(@NotNull String className) {
+        return CLASSES.computeIfAbsent(className, OptionalPluginBridge::loadClass).orElse(null);
+    }
+
+    public static boolean isClassAvailable(@NotNull String className) {
+        return findClass(className) != null;
+    }
+
+    public static boolean isJavaAvailable() {
+        return isClassAvailable(JAVA_FILE_CLASS);
+    }
+
+    public static boolean isKotlinAvailable() {
+        return isClassAvailable(KOTLIN_FILE_CLASS);
+    }
+
+    public static boolean isPythonAvailable() {
+        return isClassAvailable(PYTHON_FILE_CLASS);
+    }
+
+    /**
+     * 调用target的公共无参方法，方法不存在或调用失败时返回null
+     */
+    public static @Nullable Object invoke(@Nullable Object target, @NotNull String methodName) {
+        if (target == null) {
+            return null;
+        }
+        MethodHandle getter = GETTERS.get(target.getClass())
+                .computeIfAbsent(methodName, name -> findGetter(target.getClass(), name))
+                .orElse(null);
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invokeExact(target);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 可选插件中的单参数静态方法句柄，如 DasUtil.getColumns(DasTable)；类或方法不存在时返回null
+     * 调用方应保存返回的句柄，循环中通过invokeStatic直接调用
+     */
+    public static @Nullable MethodHandle findStatic(@NotNull String className, @NotNull String methodName,
+                                                    @NotNull String parameterClassName) {
+        return STATIC_METHODS
+                .computeIfAbsent(className + "#" + methodName + "(" + parameterClassName + ")",
+                        key -> lookupStatic(className, methodName, parameterClassName))
+                .orElse(null);
+    }
+
+    /**
+     * 调用findStatic返回的句柄，句柄为null或调用失败时返回null
+     */
+    public static @Nullable Object invokeStatic(@Nullable MethodHandle handle, @Nullable Object argument) {
+        if (handle == null) {
+            return null;
+        }
+        try {
+            return handle.invokeExact(argument);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 读取target的公共字段，字段不存在或读取失败时返回null
+     */
+    public static @Nullable Object getFieldValue(@Nullable Object target, @NotNull String fieldName) {
+        if (target == null) {
+            return null;
+        }
+        MethodHandle getter = FIELD_GETTERS.get(target.getClass())
+                .computeIfAbsent(fieldName, name -> findFieldGetter(target.getClass(), name))
+                .orElse(null);
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invokeExact(target);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 调用返回字符串的无参方法（如getName、getText），结果为null时返回null
+     */
+    public static @Nullable String invokeString(@Nullable Object target, @NotNull String methodName) {
+        Object value = invoke(target, methodName);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * 调用返回List或数组的无参方法（如getAnnotationEntries、getValueParameters），失败时返回空数组
+     */
+    public static @NotNull Object[] invokeArray(@Nullable Object target, @NotNull String methodName) {
+        Object value = invoke(target, methodName);
+        if (value instanceof Object[]) {
+            return (Object[]) value;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).toArray();
+        }
+        return new Object[0];
+    }
+
+    private static Optional<Class<?>> loadClass(@NotNull String className) {
+        try {
+            // 使用插件自身的类加载器，它能看到已启用的可选依赖插件中的类
+            return Optional.of(Class.forName(className, false, OptionalPluginBridge.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<MethodHandle> findGetter(@NotNull Class<?> type, @NotNull String methodName) {
+        try {
+            Method method = type.getMethod(methodName);
+            // 实现类可能不是public的（如部分Kotlin PSI实现），放开访问检查失败时改用public父类型中声明的方法
+            if (!method.trySetAccessible()) {
+                method = findPublicDeclaration(type, methodName);
+            }
+            return method != null
+                    ? Optional.of(MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE))
+                    : Optional.empty();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<MethodHandle> lookupStatic(@NotNull String className, @NotNull String methodName,
+                                                       @NotNull String parameterClassName) {
+        Class<?> type = findClass(className);
+        Class<?> parameterType = findClass(parameterClassName);
+        if (type == null || parameterType == null) {
+            return Optional.empty();
+        }
+        try {
+            Method method = type.getMethod(methodName, parameterType);
+            return Optional.of(MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<MethodHandle> findFieldGetter(@NotNull Class<?> type, @NotNull String fieldName) {
+        try {
+            Field field = type.getField(fieldName);
+            field.trySetAccessible();
+            return Optional.of(MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static @Nullable Method findPublicDeclaration(@Nullable Class<?> type, @NotNull String methodName) {
+        if (type == null) {
+            return null;
+        }
+        if (Modifier.isPublic(type.getModifiers())) {
+            try {
+                return type.getMethod(methodName);
+            } catch (NoSuchMethodException ignored) {
+                return null;
+            }
+        }
+        for (Class<?> supertype : type.getInterfaces()) {
+            Method method = findPublicDeclaration(supertype, methodName);
+            if (method != null) {
+                return method;
+            }
+        }
+        return findPublicDeclaration(type.getSuperclass(), methodName);
+    }
+}
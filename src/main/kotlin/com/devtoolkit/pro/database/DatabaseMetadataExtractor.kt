@@ -2,11 +2,29 @@ package com.devtoolkit.pro.database
 
 import com.devtoolkit.pro.database.model.TableInfo
 import com.devtoolkit.pro.database.model.ColumnInfo
+import com.devtoolkit.pro.utils.OptionalPluginBridge
 
 /**
  * 数据库元数据提取器
  */
 class DatabaseMetadataExtractor {
+
+    companion object {
+        private const val DAS_UTIL = "com.intellij.database.util.DasUtil"
+
+        // DasUtil静态方法句柄只查找一次，Database插件不存在时为null
+        private val GET_TABLES by lazy {
+            OptionalPluginBridge.findStatic(DAS_UTIL, "getTables", "com.intellij.database.model.DasDataSource")
+        }
+        // 不同版本的参数类型为DasTable或DasObject
+        private val GET_COLUMNS by lazy {
+            OptionalPluginBridge.findStatic(DAS_UTIL, "getColumns", "com.intellij.database.model.DasTable")
+                ?: OptionalPluginBridge.findStatic(DAS_UTIL, "getColumns", "com.intellij.database.model.DasObject")
+        }
+        private val IS_PRIMARY by lazy {
+            OptionalPluginBridge.findStatic(DAS_UTIL, "isPrimary", "com.intellij.database.model.DasColumn")
+        }
+    }
     
     /**
      * 从数据源提取所有表信息
@@ -15,7 +33,7 @@ class DatabaseMetadataExtractor {
         val tables = mutableListOf<TableInfo>()
         
         try {
-            // 使用反射获取数据源中的所有表
+            // 获取数据源中的所有表
             val dasTables = getTablesSafely(dataSource)
             
             for (dasTable in dasTables) {
@@ -31,17 +49,11 @@ class DatabaseMetadataExtractor {
     }
     
     /**
-     * 使用反射安全地获取表列表
+     * 通过OptionalPluginBridge安全地获取表列表
      */
     private fun getTablesSafely(dataSource: Any): List<Any> {
-        return try {
-            val dasUtilClass = Class.forName("com.intellij.database.util.DasUtil")
-            val getTablesMethod = dasUtilClass.getMethod("getTables", Class.forName("com.intellij.database.model.DasDataSource"))
-            val tables = getTablesMethod.invoke(null, dataSource) as Collection<*>
-            tables.filterNotNull()
-        } catch (e: Exception) {
-            emptyList()
-        }
+        val tables = OptionalPluginBridge.invokeStatic(GET_TABLES, dataSource)
+        return (tables as? Iterable<*>)?.filterNotNull() ?: emptyList()
     }
     
     /**
@@ -51,7 +63,7 @@ class DatabaseMetadataExtractor {
         val columns = mutableListOf<ColumnInfo>()
         
         try {
-            // 使用反射提取列信息
+            // 提取列信息
             val dasColumns = getColumnsSafely(dasTable)
             for (dasColumn in dasColumns) {
                 val columnInfo = extractColumnInfo(dasColumn)
@@ -77,41 +89,25 @@ class DatabaseMetadataExtractor {
     }
     
     /**
-     * 使用反射安全地获取列列表
+     * 通过OptionalPluginBridge安全地获取列列表
      */
     private fun getColumnsSafely(dasTable: Any): List<Any> {
-        return try {
-            val dasUtilClass = Class.forName("com.intellij.database.util.DasUtil")
-            val getColumnsMethod = dasUtilClass.getMethod("getColumns", Class.forName("com.intellij.database.model.DasTable"))
-            val columns = getColumnsMethod.invoke(null, dasTable) as Collection<*>
-            columns.filterNotNull()
-        } catch (e: Exception) {
-            emptyList()
-        }
+        val columns = OptionalPluginBridge.invokeStatic(GET_COLUMNS, dasTable)
+        return (columns as? Iterable<*>)?.filterNotNull() ?: emptyList()
     }
     
     /**
-     * 使用反射获取表名
+     * 通过OptionalPluginBridge获取表名
      */
     private fun getTableName(dasTable: Any): String {
-        return try {
-            val nameMethod = dasTable.javaClass.getMethod("getName")
-            nameMethod.invoke(dasTable) as? String ?: "Unknown"
-        } catch (e: Exception) {
-            "Unknown"
-        }
+        return OptionalPluginBridge.invokeString(dasTable, "getName") ?: "Unknown"
     }
     
     /**
-     * 使用反射获取表注释
+     * 通过OptionalPluginBridge获取表注释
      */
     private fun getTableComment(dasTable: Any): String? {
-        return try {
-            val commentMethod = dasTable.javaClass.getMethod("getComment")
-            commentMethod.invoke(dasTable) as? String
-        } catch (e: Exception) {
-            null
-        }
+        return OptionalPluginBridge.invokeString(dasTable, "getComment")
     }
     
     /**
@@ -142,81 +138,45 @@ class DatabaseMetadataExtractor {
     }
     
     /**
-     * 使用反射获取列名
+     * 通过OptionalPluginBridge获取列名
      */
     private fun getColumnName(dasColumn: Any): String {
-        return try {
-            val nameMethod = dasColumn.javaClass.getMethod("getName")
-            nameMethod.invoke(dasColumn) as? String ?: "Unknown"
-        } catch (e: Exception) {
-            "Unknown"
-        }
+        return OptionalPluginBridge.invokeString(dasColumn, "getName") ?: "Unknown"
     }
     
     /**
-     * 使用反射获取列类型
+     * 通过OptionalPluginBridge获取列类型
      */
     private fun getColumnType(dasColumn: Any): String {
-        return try {
-            val dasTypeMethod = dasColumn.javaClass.getMethod("getDasType")
-            val dasType = dasTypeMethod.invoke(dasColumn)
-            if (dasType != null) {
-                val specificationMethod = dasType.javaClass.getMethod("getSpecification")
-                specificationMethod.invoke(dasType) as? String ?: "UNKNOWN"
-            } else {
-                "UNKNOWN"
-            }
-        } catch (e: Exception) {
-            "UNKNOWN"
-        }
+        val dasType = OptionalPluginBridge.invoke(dasColumn, "getDasType")
+        return OptionalPluginBridge.invokeString(dasType, "getSpecification") ?: "UNKNOWN"
     }
     
     /**
-     * 使用反射获取列注释
+     * 通过OptionalPluginBridge获取列注释
      */
     private fun getColumnComment(dasColumn: Any): String? {
-        return try {
-            val commentMethod = dasColumn.javaClass.getMethod("getComment")
-            commentMethod.invoke(dasColumn) as? String
-        } catch (e: Exception) {
-            null
-        }
+        return OptionalPluginBridge.invokeString(dasColumn, "getComment")
     }
     
     /**
-     * 使用反射获取列是否非空
+     * 通过OptionalPluginBridge获取列是否非空
      */
     private fun getColumnNotNull(dasColumn: Any): Boolean {
-        return try {
-            val isNotNullMethod = dasColumn.javaClass.getMethod("isNotNull")
-            isNotNullMethod.invoke(dasColumn) as? Boolean ?: false
-        } catch (e: Exception) {
-            false
-        }
+        return OptionalPluginBridge.invoke(dasColumn, "isNotNull") as? Boolean ?: false
     }
     
     /**
-     * 使用反射获取列默认值
+     * 通过OptionalPluginBridge获取列默认值
      */
     private fun getColumnDefault(dasColumn: Any): String? {
-        return try {
-            val defaultMethod = dasColumn.javaClass.getMethod("getDefault")
-            defaultMethod.invoke(dasColumn) as? String
-        } catch (e: Exception) {
-            null
-        }
+        return OptionalPluginBridge.invokeString(dasColumn, "getDefault")
     }
     
     /**
-     * 使用反射获取列是否为主键
+     * 通过OptionalPluginBridge获取列是否为主键
      */
     private fun getColumnIsPrimary(dasColumn: Any): Boolean {
-        return try {
-            val dasUtilClass = Class.forName("com.intellij.database.util.DasUtil")
-            val isPrimaryMethod = dasUtilClass.getMethod("isPrimary", Class.forName("com.intellij.database.model.DasColumn"))
-            isPrimaryMethod.invoke(null, dasColumn) as? Boolean ?: false
-        } catch (e: Exception) {
-            false
-        }
+        return OptionalPluginBridge.invokeStatic(IS_PRIMARY, dasColumn) as? Boolean ?: false
     }
 }
\ No newline at end of file
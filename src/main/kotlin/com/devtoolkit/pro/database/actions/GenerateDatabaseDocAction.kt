@@ -3,6 +3,7 @@ package com.devtoolkit.pro.database.actions
 import com.devtoolkit.pro.database.DatabaseMetadataExtractor
 import com.devtoolkit.pro.database.ExcelDocumentBuilder
 import com.devtoolkit.pro.database.dialogs.DatabaseDocConfigDialog
+import com.devtoolkit.pro.utils.OptionalPluginBridge
 import com.intellij.ide.plugins.PluginManagerCore
 import com.intellij.openapi.actionSystem.ActionUpdateThread
 import com.intellij.openapi.actionSystem.AnAction
@@ -119,24 +120,15 @@ class GenerateDatabaseDocAction : AnAction("生成数据库说明文档") {
     }
     
     /**
-     * 使用反射安全地获取数据源列表
+     * 通过OptionalPluginBridge安全地获取数据源列表
      */
     private fun getDataSourcesSafely(project: Project): List<Any> {
-        return try {
-            val dbPsiFacadeClass = Class.forName("com.intellij.database.psi.DbPsiFacade")
-            val getInstanceMethod = dbPsiFacadeClass.getMethod("getInstance", Project::class.java)
-            val dbPsiFacade = getInstanceMethod.invoke(null, project)
-            
-            val getDataSourcesMethod = dbPsiFacadeClass.getMethod("getDataSources")
-            val dataSources = getDataSourcesMethod.invoke(dbPsiFacade) as Collection<*>
-            
-            dataSources.mapNotNull { dataSource ->
-                // 获取delegate属性
-                val delegateField = dataSource?.javaClass?.getField("delegate")
-                delegateField?.get(dataSource)
-            }
-        } catch (e: Exception) {
-            emptyList()
+        val getInstance = OptionalPluginBridge.findStatic(
+            "com.intellij.database.psi.DbPsiFacade", "getInstance", Project::class.java.name)
+        val dbPsiFacade = OptionalPluginBridge.invokeStatic(getInstance, project)
+        return OptionalPluginBridge.invokeArray(dbPsiFacade, "getDataSources").mapNotNull { dataSource ->
+            // 获取delegate属性
+            OptionalPluginBridge.getFieldValue(dataSource, "delegate")
         }
     }
     
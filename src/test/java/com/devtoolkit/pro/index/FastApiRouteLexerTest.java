@@ -0,0 +1,67 @@
+package com.devtoolkit.pro.index;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * FastApiRouteLexer测试
+ * 使用从其他模块导入的路由器的文件不包含FastAPI/APIRouter关键字，预过滤和词法分析仍需识别其中的路由
+ */
+public class FastApiRouteLexerTest {
+
+    private static final String IMPORTED_ROUTER_MODULE = String.join("\n",
+            "from app.api.deps import router",
+            "",
+            "",
+            "@router.get(\"/items\")",
+            "async def list_items():",
+            "    return []",
+            "",
+            "",
+            "@router .post( '/items')",
+            "async def create_item(item: Item):",
+            "    return item",
+            "");
+
+    @Test
+    public void importedRouterModuleIsIndexed() {
+        assertTrue(FastApiRouteLexer.mayContainRoutes(IMPORTED_ROUTER_MODULE));
+
+        FastApiFileRoutes routes = FastApiRouteLexer.lex(IMPORTED_ROUTER_MODULE);
+        assertEquals(2, routes.routes.size());
+
+        FastApiFileRoutes.RouteDef first = routes.routes.get(0);
+        assertEquals("router", first.instance);
+        assertEquals("GET", first.httpMethod);
+        assertEquals("/items", first.path);
+        assertEquals("list_items", first.functionName);
+
+        FastApiFileRoutes.RouteDef second = routes.routes.get(1);
+        assertEquals("POST", second.httpMethod);
+        assertEquals("create_item", second.functionName);
+    }
+
+    @Test
+    public void ordinaryDecoratorsAreNotRouteHints() {
+        String text = String.join("\n",
+                "from dataclasses import dataclass",
+                "",
+                "@dataclass",
+                "class Item:",
+                "    name: str",
+                "",
+                "    @property",
+                "    def title(self):",
+                "        return self.name",
+                "",
+                "    @cache.get_or_set(\"key\")",
+                "    def cached(self):",
+                "        return None",
+                "");
+
+        assertFalse(FastApiRouteLexer.mayContainRoutes(text));
+    }
+}
@@ -0,0 +1,88 @@
+package com.devtoolkit.pro.services;
+
+import com.devtoolkit.pro.navigation.RestfulEndpointNavigationItem;
+import com.intellij.openapi.project.Project;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * EndpointStore内存占用测试
+ * 用JOL统计存储及其字典的总大小，按端点平均后应低于100字节
+ */
+public class EndpointStoreFootprintTest {
+
+    private static final int CONTROLLER_COUNT = 500;
+    private static final int ENDPOINTS_PER_CONTROLLER = 20;
+    private static final long MAX_BYTES_PER_ENDPOINT = 100;
+
+    private static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH"};
+    private static final String[] ACTIONS = {
+            "list", "get", "create", "update", "delete", "search", "export", "import", "count", "batchDelete"
+    };
+
+    @Test
+    public void averageFootprintPerEndpointIsBelowLimit() {
+        List<RestfulEndpointNavigationItem> endpoints = createEndpoints();
+        EndpointStore store = EndpointStore.of(stubProject(), new EndpointDictionary(), endpoints);
+
+        long totalSize = GraphLayout.parseInstance(store).totalSize();
+        long bytesPerEndpoint = totalSize / endpoints.size();
+
+        assertEquals(endpoints.size(), store.size());
+        assertTrue("Endpoint store uses " + bytesPerEndpoint + " bytes per endpoint",
+                bytesPerEndpoint < MAX_BYTES_PER_ENDPOINT);
+    }
+
+    @Test
+    public void decodedEndpointsMatchOriginals() {
+        List<RestfulEndpointNavigationItem> endpoints = createEndpoints();
+        EndpointStore store = EndpointStore.of(stubProject(), new EndpointDictionary(), endpoints);
+
+        assertEquals(endpoints, store.asList());
+    }
+
+    /**
+     * 模拟典型项目：每个控制器一个资源前缀，方法名和HTTP方法在控制器之间大量重复
+     */
+    private static List<RestfulEndpointNavigationItem> createEndpoints() {
+        Project project = stubProject();
+        List<RestfulEndpointNavigationItem> endpoints = new ArrayList<>();
+        for (int c = 0; c < CONTROLLER_COUNT; c++) {
+            String resource = "resource" + c;
+            String className = "com.example.module" + (c % 20) + ".web.Resource" + c + "Controller";
+            for (int e = 0; e < ENDPOINTS_PER_CONTROLLER; e++) {
+                String action = ACTIONS[e % ACTIONS.length];
+                String path = e < ACTIONS.length
+                        ? "/api/v1/" + resource + "/" + action
+                        : "/api/v1/" + resource + "/{id}/" + action;
+                String methodName = e < ACTIONS.length ? action : action + "ById";
+                endpoints.add(new RestfulEndpointNavigationItem(HTTP_METHODS[e % HTTP_METHODS.length], path,
+                        className, methodName, null, e * 100, project));
+            }
+        }
+        return endpoints;
+    }
+
+    private static Project stubProject() {
+        return (Project) Proxy.newProxyInstance(EndpointStoreFootprintTest.class.getClassLoader(),
+                new Class<?>[]{Project.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubProject";
+                        default:
+                            return null;
+                    }
+                });
+    }
+}